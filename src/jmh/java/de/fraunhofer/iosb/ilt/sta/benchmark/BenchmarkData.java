@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.benchmark;
+
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.ObservedProperty;
+import de.fraunhofer.iosb.ilt.sta.model.Sensor;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.model.ext.UnitOfMeasurement;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the entities used by the benchmarks.
+ *
+ * @author scf
+ */
+public final class BenchmarkData {
+
+    public static final ZonedDateTime START = ZonedDateTime.parse("2024-01-01T00:00:00Z");
+
+    private BenchmarkData() {
+        // Utility class.
+    }
+
+    public static Datastream createDatastream(long id) {
+        Datastream datastream = new Datastream(
+                "Datastream " + id,
+                "The temperature in room " + id,
+                "http://www.opengis.net/def/observationType/OGC-OM/2.0/OM_Measurement",
+                new UnitOfMeasurement("degree Celsius", "°C", "http://unitsofmeasure.org/ucum.html#para-30"));
+        datastream.setId(new IdLong(id));
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("room", "R" + id);
+        properties.put("floor", 2);
+        datastream.setProperties(properties);
+        Thing thing = new Thing();
+        thing.setId(new IdLong(1L));
+        datastream.setThing(thing);
+        Sensor sensor = new Sensor();
+        sensor.setId(new IdLong(2L));
+        datastream.setSensor(sensor);
+        ObservedProperty observedProperty = new ObservedProperty();
+        observedProperty.setId(new IdLong(3L));
+        datastream.setObservedProperty(observedProperty);
+        return datastream;
+    }
+
+    public static Observation createObservation(long id, Datastream datastream) {
+        Observation observation = new Observation(new BigDecimal("21.5").add(BigDecimal.valueOf(id % 100, 1)), datastream.withOnlyId());
+        observation.setId(new IdLong(id));
+        observation.setPhenomenonTimeFrom(START.plusSeconds(id));
+        observation.setResultTime(START.plusSeconds(id));
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("quality", "good");
+        observation.setParameters(parameters);
+        return observation;
+    }
+
+    public static List<Observation> createObservations(int count) {
+        Datastream datastream = createDatastream(1);
+        List<Observation> observations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            observations.add(createObservation(i + 1, datastream));
+        }
+        return observations;
+    }
+}
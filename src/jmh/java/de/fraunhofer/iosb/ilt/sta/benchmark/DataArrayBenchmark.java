@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.benchmark;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericDataArrayValue;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks for building and writing DataArrays for Observation creation.
+ *
+ * @author scf
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DataArrayBenchmark {
+
+    private static final Set<DataArrayValue.Property> COMPONENTS = EnumSet.of(DataArrayValue.Property.PhenomenonTime, DataArrayValue.Property.Result);
+
+    @Param({"5000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private Datastream datastream;
+    private List<Observation> observations;
+    private DataArrayValue dataArrayValue;
+    private NumericDataArrayValue numericDataArrayValue;
+
+    @Setup
+    public void setUp() {
+        mapper = ObjectMapperFactory.get();
+        datastream = BenchmarkData.createDatastream(1);
+        observations = BenchmarkData.createObservations(size);
+        dataArrayValue = buildDataArrayValue();
+        numericDataArrayValue = buildNumericDataArrayValue();
+    }
+
+    @Benchmark
+    public DataArrayValue buildDataArrayValue() {
+        DataArrayValue dav = new DataArrayValue(datastream, COMPONENTS);
+        for (Observation observation : observations) {
+            dav.addObservation(observation);
+        }
+        return dav;
+    }
+
+    @Benchmark
+    public NumericDataArrayValue buildNumericDataArrayValue() {
+        NumericDataArrayValue dav = new NumericDataArrayValue(datastream, false);
+        for (Observation observation : observations) {
+            dav.addObservation(observation);
+        }
+        return dav;
+    }
+
+    @Benchmark
+    public byte[] writeDataArrayValue() {
+        return mapper.writeValueAsBytes(dataArrayValue);
+    }
+
+    @Benchmark
+    public byte[] writeNumericDataArrayValue() {
+        return mapper.writeValueAsBytes(numericDataArrayValue);
+    }
+}
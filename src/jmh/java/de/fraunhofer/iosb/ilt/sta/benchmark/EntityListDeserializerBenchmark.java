@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.benchmark;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.EntityType;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.model.ext.LazyValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericResult;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Benchmarks for reading pages of Observations with the
+ * EntityListDeserializer.
+ *
+ * @author scf
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EntityListDeserializerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private ObjectReader lazyReader;
+    private ObjectReader typedReader;
+    private byte[] page;
+
+    @Setup
+    public void setUp() {
+        mapper = ObjectMapperFactory.get();
+        lazyReader = mapper.readerFor(EntityType.OBSERVATIONS.getTypeReference())
+                .withAttribute(LazyValue.ATTRIBUTE_LAZY_DECODING, Boolean.TRUE);
+        typedReader = mapper.readerFor(EntityType.OBSERVATIONS.getTypeReference())
+                .withAttribute(NumericResult.ATTRIBUTE_RESULT_TYPE, NumericResult.Type.DOUBLE);
+        List<Observation> observations = BenchmarkData.createObservations(pageSize);
+        page = mapper.writeValueAsBytes(Collections.singletonMap("value", observations));
+    }
+
+    @Benchmark
+    public EntityList<Observation> readObservationPage() {
+        return mapper.readValue(page, EntityType.OBSERVATIONS.getTypeReference());
+    }
+
+    @Benchmark
+    public EntityList<Observation> readObservationPageLazy() {
+        return lazyReader.readValue(page);
+    }
+
+    @Benchmark
+    public EntityList<Observation> readObservationPageTyped() {
+        return typedReader.readValue(page);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.benchmark;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.Id;
+import de.fraunhofer.iosb.ilt.sta.model.Location;
+import de.fraunhofer.iosb.ilt.sta.model.TimeObject;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks for parsing times, ids and locations.
+ *
+ * @author scf
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParseBenchmark {
+
+    public String instant = "2024-01-01T12:34:56.789Z";
+    public String interval = "2024-01-01T00:00:00Z/2024-01-01T01:00:00Z";
+    public String longId = "123456789";
+    public String stringId = "'thing-123'";
+    public String polygonLocation = "{\"name\":\"area\",\"encodingType\":\"application/vnd.geo+json\",\"location\":"
+            + "{\"type\":\"Polygon\",\"coordinates\":[[[8.40,49.00],[8.41,49.00],[8.41,49.01],[8.40,49.01],[8.40,49.00]]]}}";
+
+    private final ObjectMapper mapper = ObjectMapperFactory.get();
+
+    @Benchmark
+    public TimeObject parseTimeInstant() {
+        return TimeObject.parse(instant);
+    }
+
+    @Benchmark
+    public TimeObject parseTimeInterval() {
+        return TimeObject.parse(interval);
+    }
+
+    @Benchmark
+    public Id parseLongId() {
+        return Id.tryToParse(longId);
+    }
+
+    @Benchmark
+    public Id parseStringId() {
+        return Id.tryToParse(stringId);
+    }
+
+    @Benchmark
+    public Location parseLocation() {
+        return mapper.readValue(polygonLocation, Location.class);
+    }
+}
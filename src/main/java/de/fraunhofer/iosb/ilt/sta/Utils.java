@@ -34,6 +34,7 @@ import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Consts;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
@@ -170,6 +171,18 @@ public class Utils {
      * @throws StatusCodeException If the response was not 2xx.
      */
     public static void throwIfNotOk(HttpRequestBase request, CloseableHttpResponse response) throws StatusCodeException {
+        throwIfNotOk(request, (HttpResponse) response);
+    }
+
+    /**
+     * Throws a StatusCodeException if the given response did not have status
+     * code 2xx
+     *
+     * @param request The request that generated the response.
+     * @param response The response to check the status code of.
+     * @throws StatusCodeException If the response was not 2xx.
+     */
+    public static void throwIfNotOk(HttpRequestBase request, HttpResponse response) throws StatusCodeException {
         final int statusCode = response.getStatusLine().getStatusCode();
         if (statusCode < 200 || statusCode >= 300) {
             String returnContent = null;
@@ -197,6 +210,9 @@ public class Utils {
         HostnameVerifier allowAllHosts = new NoopHostnameVerifier();
         SSLConnectionSocketFactory connectionFactory = new SSLConnectionSocketFactory(sslContext, allowAllHosts);
         service.getClientBuilder().setSSLSocketFactory(connectionFactory);
+        if (service.getConnectionPoolConfig() != null) {
+            service.getConnectionPoolConfig().setSslSocketFactory(connectionFactory);
+        }
         service.rebuildHttpClient();
     }
 }
@@ -25,6 +25,7 @@ package de.fraunhofer.iosb.ilt.sta.dao;
 import com.github.fge.jsonpatch.JsonPatchOperation;
 import de.fraunhofer.iosb.ilt.sta.MqttException;
 import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.StatusCodeException;
 import de.fraunhofer.iosb.ilt.sta.Utils;
 import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
 import de.fraunhofer.iosb.ilt.sta.model.Entity;
@@ -35,6 +36,8 @@ import de.fraunhofer.iosb.ilt.sta.model.IdLong;
 import de.fraunhofer.iosb.ilt.sta.model.IdString;
 import de.fraunhofer.iosb.ilt.sta.query.Expansion;
 import de.fraunhofer.iosb.ilt.sta.query.Query;
+import de.fraunhofer.iosb.ilt.sta.service.BulkResult;
+import de.fraunhofer.iosb.ilt.sta.service.EntityCache;
 import de.fraunhofer.iosb.ilt.sta.service.MqttSubscription;
 import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
 import java.io.IOException;
@@ -42,19 +45,24 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.http.Consts;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
 import org.apache.http.ParseException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
@@ -111,49 +119,109 @@ public abstract class BaseDao<T extends Entity<T>> implements Dao<T> {
 
     @Override
     public void create(T entity) throws ServiceFailureException {
+        final HttpPost httpPost = createRequest(entity);
+        try (CloseableHttpResponse response = service.execute(httpPost)) {
+            handleCreateResponse(httpPost, response, entity);
+        } catch (IOException exc) {
+            throw new ServiceFailureException("Failed to create entity.", exc);
+        }
+    }
+
+    /**
+     * Asynchronously create the given entity. When the returned future
+     * completes, the id and service of the entity have been set.
+     *
+     * @param entity The entity to create.
+     * @return A future that completes with the created entity.
+     */
+    public CompletableFuture<T> createAsync(T entity) {
+        final HttpPost httpPost;
+        try {
+            httpPost = createRequest(entity);
+        } catch (ServiceFailureException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return service.executeAsync(httpPost, response -> {
+            handleCreateResponse(httpPost, response, entity);
+            return entity;
+        });
+    }
+
+    private HttpPost createRequest(T entity) throws ServiceFailureException {
         if (parent != null && !parent.getType().hasRelationTo(plural)) {
             throw new IllegalArgumentException("Can not create entity, not a list");
         }
 
-        final ObjectMapper mapper = ObjectMapperFactory.get();
         URIBuilder uriBuilder;
-        String json;
+        HttpEntity body;
         HttpPost httpPost;
         try {
             uriBuilder = new URIBuilder(service.getFullPath(parent, plural).toURI());
-            json = mapper.writeValueAsString(entity);
+            body = service.createEntity(entity);
             httpPost = new HttpPost(uriBuilder.build());
         } catch (URISyntaxException | JacksonException ex) {
             throw new ServiceFailureException("Failed to create entity.", ex);
         }
 
         LOGGER.debug("Posting to: {}", httpPost.getURI());
-        httpPost.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+        httpPost.setEntity(body);
+        return httpPost;
+    }
 
-        try (CloseableHttpResponse response = service.execute(httpPost)) {
-            Utils.throwIfNotOk(httpPost, response);
-            Header locationHeader = response.getLastHeader("location");
-            EntityUtils.consumeQuietly(response.getEntity());
-            if (locationHeader == null) {
-                throw new IllegalStateException("Server did not send a location header for the new entitiy.");
-            }
-            String newLocation = locationHeader.getValue();
-            int pos1 = newLocation.indexOf('(') + 1;
-            int pos2 = newLocation.indexOf(')', pos1);
-            String stringId = newLocation.substring(pos1, pos2);
-            entity.setId(Id.tryToParse(stringId));
-            entity.setService(service);
-        } catch (IOException exc) {
-            throw new ServiceFailureException("Failed to create entity.", exc);
+    private void handleCreateResponse(HttpPost httpPost, HttpResponse response, T entity) throws StatusCodeException {
+        Utils.throwIfNotOk(httpPost, response);
+        Header locationHeader = response.getLastHeader("location");
+        EntityUtils.consumeQuietly(response.getEntity());
+        if (locationHeader == null) {
+            throw new IllegalStateException("Server did not send a location header for the new entitiy.");
         }
-
+        String newLocation = locationHeader.getValue();
+        int pos1 = newLocation.indexOf('(') + 1;
+        int pos2 = newLocation.indexOf(')', pos1);
+        String stringId = newLocation.substring(pos1, pos2);
+        entity.setId(Id.tryToParse(stringId));
+        entity.setService(service);
     }
 
     @Override
     public T find(Entity<?> parent) throws ServiceFailureException {
+        final EntityCache cache = service.getEntityCache();
+        if (cache == null) {
+            return find(findUri(parent));
+        }
+        final T cached = cache.getRelated(parent, singular);
+        if (cached != null) {
+            return cached;
+        }
+        return cache.putRelated(parent, find(findUri(parent)));
+    }
+
+    /**
+     * Asynchronously find the entity related to the given parent.
+     *
+     * @param parent The parent to find the related entity of.
+     * @return A future that completes with the entity.
+     */
+    public CompletableFuture<T> findAsync(Entity<?> parent) {
+        final EntityCache cache = service.getEntityCache();
+        try {
+            if (cache == null) {
+                return findAsync(findUri(parent));
+            }
+            final T cached = cache.getRelated(parent, singular);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return findAsync(findUri(parent)).thenApply(entity -> cache.putRelated(parent, entity));
+        } catch (ServiceFailureException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private URI findUri(Entity<?> parent) throws ServiceFailureException {
         try {
             URL fullPath = service.getFullPath(parent, singular);
-            return find(fullPath.toURI());
+            return fullPath.toURI();
         } catch (URISyntaxException ex) {
             throw new ServiceFailureException(ex);
         }
@@ -161,14 +229,43 @@ public abstract class BaseDao<T extends Entity<T>> implements Dao<T> {
 
     @Override
     public T find(Id id) throws ServiceFailureException {
+        return find(id, null);
+    }
+
+    /**
+     * Asynchronously find the entity with the given id.
+     *
+     * @param id the entity's unique id
+     * @return A future that completes with the entity.
+     */
+    public CompletableFuture<T> findAsync(Id id) {
+        return findAsync(id, null);
+    }
+
+    private URI findUri(Id id, Expansion expansion) throws ServiceFailureException {
         try {
             URIBuilder uriBuilder = new URIBuilder(service.getEndpoint().toString() + this.entityPath(id));
-            return find(uriBuilder.build());
+            if (expansion != null) {
+                uriBuilder.addParameter("$expand", expansion.toString());
+            }
+            return uriBuilder.build();
         } catch (URISyntaxException ex) {
             throw new ServiceFailureException(ex);
         }
     }
 
+    /**
+     * Find all entities with the given ids. Each entity is fetched with its
+     * own request, concurrently if a bulk parallelism is set on the service.
+     *
+     * @param ids the unique ids of the entities to find.
+     * @return The per-id outcome.
+     * @see SensorThingsService#setBulkParallelism(int)
+     */
+    public BulkResult<Id, T> findAll(Collection<Id> ids) {
+        return service.executeBulk(ids, id -> find(id));
+    }
+
     /**
      * Find the entity with the given Long id. This is a shorthand for find(new
      * IdLong(id));
@@ -195,60 +292,150 @@ public abstract class BaseDao<T extends Entity<T>> implements Dao<T> {
 
     @Override
     public T find(URI uri) throws ServiceFailureException {
-        HttpGet httpGet = new HttpGet(uri);
-        LOGGER.debug("Fetching: {}", uri);
-        httpGet.addHeader("Accept", ContentType.APPLICATION_JSON.getMimeType());
-
+        final HttpGet httpGet = findRequest(uri);
         try (CloseableHttpResponse response = service.execute(httpGet)) {
-            Utils.throwIfNotOk(httpGet, response);
-            String returnContent = EntityUtils.toString(response.getEntity(), Consts.UTF_8);
-            final ObjectMapper mapper = ObjectMapperFactory.get();
-            T entity = mapper.readValue(returnContent, entityClass);
-            entity.setService(service);
-            return entity;
-        } catch (IOException | ParseException ex) {
+            return handleFindResponse(httpGet, response);
+        } catch (IOException | ParseException | JacksonException ex) {
             throw new ServiceFailureException(ex);
         }
     }
 
+    /**
+     * Asynchronously fetch the entity from the given URI.
+     *
+     * @param uri The URI to fetch the entity from.
+     * @return A future that completes with the entity.
+     */
+    public CompletableFuture<T> findAsync(URI uri) {
+        final HttpGet httpGet = findRequest(uri);
+        return service.executeAsync(httpGet, response -> handleFindResponse(httpGet, response));
+    }
+
+    private HttpGet findRequest(URI uri) {
+        HttpGet httpGet = new HttpGet(uri);
+        LOGGER.debug("Fetching: {}", uri);
+        httpGet.addHeader("Accept", service.getAcceptHeader());
+        return httpGet;
+    }
+
+    private T handleFindResponse(HttpGet httpGet, HttpResponse response) throws StatusCodeException, IOException {
+        Utils.throwIfNotOk(httpGet, response);
+        T entity = service.getReader(response).forType(entityClass).readValue(response.getEntity().getContent());
+        entity.setService(service);
+        return entity;
+    }
+
     @Override
     public T find(Id id, Expansion expansion) throws ServiceFailureException {
+        final EntityCache cache = service.getEntityCache();
+        if (cache == null || expansion != null) {
+            return find(findUri(id, expansion));
+        }
+        final T cached = cache.get(singular, id);
+        if (cached != null) {
+            return cached;
+        }
+        final T entity = find(findUri(id, null));
+        cache.put(entity);
+        return entity;
+    }
+
+    /**
+     * Asynchronously find the entity with the given id, with the given
+     * expansion.
+     *
+     * @param id the entity's unique id
+     * @param expansion The expansion to apply, may be null.
+     * @return A future that completes with the entity.
+     */
+    public CompletableFuture<T> findAsync(Id id, Expansion expansion) {
+        final EntityCache cache = service.getEntityCache();
         try {
-            URIBuilder uriBuilder = new URIBuilder(service.getEndpoint().toString() + this.entityPath(id));
-            uriBuilder.addParameter("$expand", expansion.toString());
-            return find(uriBuilder.build());
-        } catch (URISyntaxException ex) {
-            throw new ServiceFailureException(ex);
+            if (cache == null || expansion != null) {
+                return findAsync(findUri(id, expansion));
+            }
+            final T cached = cache.get(singular, id);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+            return findAsync(findUri(id, null)).thenApply(entity -> {
+                cache.put(entity);
+                return entity;
+            });
+        } catch (ServiceFailureException ex) {
+            return CompletableFuture.failedFuture(ex);
         }
     }
 
     @Override
     public void update(T entity) throws ServiceFailureException {
-        final ObjectMapper mapper = ObjectMapperFactory.get();
+        final HttpPatch httpPatch = updateRequest(entity);
+        try {
+            executeWithoutContent(httpPatch);
+        } finally {
+            invalidate(entity);
+        }
+    }
+
+    /**
+     * Asynchronously update the given entity on the server.
+     *
+     * @param entity The entity to update.
+     * @return A future that completes when the update is done.
+     */
+    public CompletableFuture<Void> updateAsync(T entity) {
+        try {
+            final HttpPatch httpPatch = updateRequest(entity);
+            return executeWithoutContentAsync(httpPatch).whenComplete((result, failure) -> invalidate(entity));
+        } catch (ServiceFailureException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private HttpPatch updateRequest(T entity) throws ServiceFailureException {
         HttpPatch httpPatch;
         URIBuilder uriBuilder;
-        String json;
+        HttpEntity body;
         try {
             uriBuilder = new URIBuilder(service.getEndpoint().toString() + this.entityPath(entity.getId()));
-            json = mapper.writeValueAsString(entity);
+            body = service.createEntity(entity);
             httpPatch = new HttpPatch(uriBuilder.build());
         } catch (JacksonException | URISyntaxException ex) {
             throw new ServiceFailureException(ex);
         }
 
         LOGGER.debug("Patching: {}", httpPatch.getURI());
-        httpPatch.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
-
-        try (CloseableHttpResponse response = service.execute(httpPatch)) {
-            Utils.throwIfNotOk(httpPatch, response);
-            EntityUtils.consumeQuietly(response.getEntity());
-        } catch (IOException ex) {
-            throw new ServiceFailureException(ex);
-        }
+        httpPatch.setEntity(body);
+        return httpPatch;
     }
 
     @Override
     public void patch(T entity, List<JsonPatchOperation> patch) throws ServiceFailureException {
+        final HttpPatch httpPatch = patchRequest(entity, patch);
+        try {
+            executeWithoutContent(httpPatch);
+        } finally {
+            invalidate(entity);
+        }
+    }
+
+    /**
+     * Asynchronously apply the given JSON-Patch to the given entity.
+     *
+     * @param entity The entity to patch.
+     * @param patch The patch to apply.
+     * @return A future that completes when the patch is applied.
+     */
+    public CompletableFuture<Void> patchAsync(T entity, List<JsonPatchOperation> patch) {
+        try {
+            final HttpPatch httpPatch = patchRequest(entity, patch);
+            return executeWithoutContentAsync(httpPatch).whenComplete((result, failure) -> invalidate(entity));
+        } catch (ServiceFailureException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private HttpPatch patchRequest(T entity, List<JsonPatchOperation> patch) throws ServiceFailureException {
         final ObjectMapper mapper = ObjectMapperFactory.get();
         HttpPatch httpPatch;
         URIBuilder uriBuilder;
@@ -263,17 +450,35 @@ public abstract class BaseDao<T extends Entity<T>> implements Dao<T> {
 
         LOGGER.debug("Patching: {} with patch {}", httpPatch.getURI(), patch);
         httpPatch.setEntity(new StringEntity(json, APPLICATION_JSON_PATCH));
-
-        try (CloseableHttpResponse response = service.execute(httpPatch)) {
-            Utils.throwIfNotOk(httpPatch, response);
-            EntityUtils.consumeQuietly(response.getEntity());
-        } catch (IOException ex) {
-            throw new ServiceFailureException(ex);
-        }
+        return httpPatch;
     }
 
     @Override
     public void delete(T entity) throws ServiceFailureException {
+        final HttpDelete httpDelete = deleteRequest(entity);
+        try {
+            executeWithoutContent(httpDelete);
+        } finally {
+            invalidate(entity);
+        }
+    }
+
+    /**
+     * Asynchronously delete the given entity.
+     *
+     * @param entity The entity to delete.
+     * @return A future that completes when the entity is deleted.
+     */
+    public CompletableFuture<Void> deleteAsync(T entity) {
+        try {
+            final HttpDelete httpDelete = deleteRequest(entity);
+            return executeWithoutContentAsync(httpDelete).whenComplete((result, failure) -> invalidate(entity));
+        } catch (ServiceFailureException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private HttpDelete deleteRequest(T entity) throws ServiceFailureException {
         URIBuilder uriBuilder;
         HttpDelete httpDelete;
         try {
@@ -283,15 +488,38 @@ public abstract class BaseDao<T extends Entity<T>> implements Dao<T> {
             throw new ServiceFailureException(ex);
         }
         LOGGER.debug("Deleting: {}", httpDelete.getURI());
+        return httpDelete;
+    }
 
-        try (CloseableHttpResponse response = service.execute(httpDelete)) {
-            Utils.throwIfNotOk(httpDelete, response);
+    /**
+     * Removes the entity from the cache of the service. Called after the
+     * server answered a change, so that a concurrent find can not put the old
+     * state back into the cache.
+     */
+    private void invalidate(T entity) {
+        final EntityCache cache = service.getEntityCache();
+        if (cache != null) {
+            cache.invalidate(entity);
+        }
+    }
+
+    private void executeWithoutContent(HttpRequestBase request) throws ServiceFailureException {
+        try (CloseableHttpResponse response = service.execute(request)) {
+            Utils.throwIfNotOk(request, response);
             EntityUtils.consumeQuietly(response.getEntity());
         } catch (IOException ex) {
             throw new ServiceFailureException(ex);
         }
     }
 
+    private CompletableFuture<Void> executeWithoutContentAsync(HttpRequestBase request) {
+        return service.executeAsync(request, response -> {
+            Utils.throwIfNotOk(request, response);
+            EntityUtils.consumeQuietly(response.getEntity());
+            return null;
+        });
+    }
+
     @Override
     public Query<T> query() {
         return new Query<>(this.service, this.entityClass, this.parent);
@@ -0,0 +1,284 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.dao;
+
+import de.fraunhofer.iosb.ilt.sta.NotAuthorizedException;
+import de.fraunhofer.iosb.ilt.sta.NotFoundException;
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.StatusCodeException;
+import de.fraunhofer.iosb.ilt.sta.Utils;
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.Entity;
+import de.fraunhofer.iosb.ilt.sta.model.Id;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.service.BulkResult;
+import de.fraunhofer.iosb.ilt.sta.service.EntityCache;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Collects create, update and delete operations, and sends them to the service
+ * in a single POST to the $batch resource, using the JSON batch format. Get an
+ * instance using {@link SensorThingsService#batch()}.
+ *
+ * <pre>
+ * BulkResult&lt;Entity&lt;?&gt;, Entity&lt;?&gt;&gt; result = service.batch()
+ *         .create(thing1)
+ *         .update(thing2)
+ *         .delete(thing3)
+ *         .execute();
+ * </pre>
+ *
+ * The responses are mapped back onto the entities: created entities get the
+ * id from the location header of their response.
+ *
+ * @author scf
+ */
+public class BatchRequest {
+
+    /**
+     * The logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchRequest.class);
+
+    private static enum Method {
+        POST,
+        PATCH,
+        DELETE
+    }
+
+    private static class Operation {
+
+        private final Method method;
+        private final Entity<?> entity;
+
+        public Operation(Method method, Entity<?> entity) {
+            this.method = method;
+            this.entity = entity;
+        }
+
+        public String getUrl() {
+            final String collection = entity.getType().getPlural().getName();
+            if (method == Method.POST) {
+                return collection;
+            }
+            return collection + "(" + entity.getId().getUrl() + ")";
+        }
+    }
+
+    private final SensorThingsService service;
+    private final List<Operation> operations = new ArrayList<>();
+
+    public BatchRequest(SensorThingsService service) {
+        this.service = service;
+    }
+
+    /**
+     * Add the creation of the given entity to the batch.
+     *
+     * @param entity The entity to create.
+     * @return this.
+     * @throws IllegalArgumentException If the entity is an Observation without
+     * a result.
+     */
+    public BatchRequest create(Entity<?> entity) {
+        if (entity instanceof Observation && !((Observation) entity).isResultSet()) {
+            throw new IllegalArgumentException("Result must be set on Observation.");
+        }
+        operations.add(new Operation(Method.POST, entity));
+        return this;
+    }
+
+    /**
+     * Add the update of the given entity to the batch.
+     *
+     * @param entity The entity to update.
+     * @return this.
+     * @throws IllegalArgumentException If the entity has no id.
+     */
+    public BatchRequest update(Entity<?> entity) {
+        operations.add(new Operation(Method.PATCH, requireId(entity, "update")));
+        return this;
+    }
+
+    /**
+     * Add the deletion of the given entity to the batch.
+     *
+     * @param entity The entity to delete.
+     * @return this.
+     * @throws IllegalArgumentException If the entity has no id.
+     */
+    public BatchRequest delete(Entity<?> entity) {
+        operations.add(new Operation(Method.DELETE, requireId(entity, "delete")));
+        return this;
+    }
+
+    private static Entity<?> requireId(Entity<?> entity, String action) {
+        if (entity.getId() == null) {
+            throw new IllegalArgumentException("Can not " + action + " " + entity.getType() + " without an id.");
+        }
+        return entity;
+    }
+
+    /**
+     * @return The number of operations in the batch.
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Send all operations to the service in a single request. The operations
+     * are not atomic: each can succeed or fail independently.
+     *
+     * @return The per-entity outcome, in the order the operations were added.
+     * @throws ServiceFailureException If the batch request as a whole failed.
+     */
+    public BulkResult<Entity<?>, Entity<?>> execute() throws ServiceFailureException {
+        final List<BulkResult.Item<Entity<?>, Entity<?>>> items = new ArrayList<>();
+        if (operations.isEmpty()) {
+            return new BulkResult<>(items);
+        }
+        final ObjectMapper mapper = ObjectMapperFactory.get();
+        final HttpPost httpPost;
+        try {
+            httpPost = new HttpPost(service.getEndpoint().toURI().resolve("$batch"));
+            httpPost.setEntity(new StringEntity(mapper.writeValueAsString(createBody(mapper)), ContentType.APPLICATION_JSON));
+        } catch (URISyntaxException | JacksonException ex) {
+            throw new ServiceFailureException("Failed to create batch request.", ex);
+        }
+        httpPost.addHeader("Accept", ContentType.APPLICATION_JSON.getMimeType());
+        LOGGER.debug("Posting batch of {} to: {}", operations.size(), httpPost.getURI());
+
+        final Map<String, JsonNode> responses = new HashMap<>();
+        try (CloseableHttpResponse response = service.execute(httpPost)) {
+            Utils.throwIfNotOk(httpPost, response);
+            JsonNode root = mapper.readTree(response.getEntity().getContent());
+            for (JsonNode item : root.path("responses")) {
+                responses.put(item.path("id").asString(), item);
+            }
+        } catch (IOException | JacksonException ex) {
+            throw new ServiceFailureException("Failed to execute batch request.", ex);
+        } finally {
+            invalidateChanged();
+        }
+
+        for (int idx = 0; idx < operations.size(); idx++) {
+            final Operation operation = operations.get(idx);
+            final JsonNode response = responses.get(Integer.toString(idx));
+            items.add(new BulkResult.Item<>(operation.entity, operation.entity, handleResponse(operation, response)));
+        }
+        operations.clear();
+        return new BulkResult<>(items);
+    }
+
+    /**
+     * Removes the updated and deleted entities from the cache of the service.
+     * Called after the server answered, so that a concurrent find can not put
+     * the old state back into the cache.
+     */
+    private void invalidateChanged() {
+        final EntityCache cache = service.getEntityCache();
+        if (cache == null) {
+            return;
+        }
+        for (Operation operation : operations) {
+            if (operation.method != Method.POST) {
+                cache.invalidate(operation.entity);
+            }
+        }
+    }
+
+    private ObjectNode createBody(ObjectMapper mapper) {
+        final ObjectNode body = mapper.createObjectNode();
+        final ArrayNode requests = body.putArray("requests");
+        for (int idx = 0; idx < operations.size(); idx++) {
+            final Operation operation = operations.get(idx);
+            final ObjectNode request = requests.addObject();
+            request.put("id", Integer.toString(idx));
+            request.put("method", operation.method.name().toLowerCase());
+            request.put("url", operation.getUrl());
+            if (operation.method != Method.DELETE) {
+                request.set("body", mapper.valueToTree(operation.entity));
+            }
+        }
+        return body;
+    }
+
+    private ServiceFailureException handleResponse(Operation operation, JsonNode response) {
+        final String url = operation.getUrl();
+        if (response == null) {
+            return new ServiceFailureException("No response for batch operation " + operation.method + " " + url);
+        }
+        final int status = response.path("status").asInt();
+        if (status < 200 || status >= 300) {
+            final JsonNode body = response.get("body");
+            final String content = body == null ? null : body.toString();
+            if (status == 401 || status == 403) {
+                return new NotAuthorizedException(url, "Batch operation failed", content);
+            }
+            if (status == 404) {
+                return new NotFoundException(url, "Batch operation failed", content);
+            }
+            return new StatusCodeException(url, status, "Batch operation failed", content);
+        }
+        if (operation.method == Method.POST) {
+            final String location = findHeader(response.path("headers"), "location");
+            if (location == null) {
+                return new ServiceFailureException("Server did not send a location header for the new entity.");
+            }
+            int pos1 = location.lastIndexOf('(') + 1;
+            int pos2 = location.indexOf(')', pos1);
+            operation.entity.setId(Id.tryToParse(location.substring(pos1, pos2)));
+        }
+        operation.entity.setService(service);
+        return null;
+    }
+
+    private static String findHeader(JsonNode headers, String name) {
+        for (Entry<String, JsonNode> header : headers.properties()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                return header.getValue().asString();
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.dao;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.MultiDatastream;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayDocument;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayValue;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects Observations from any number of threads, and creates them in the
+ * service in batches, using the CreateObservations (DataArray) extension. The
+ * Observations are grouped by their Datastream or MultiDatastream. A batch is
+ * sent when it holds maxBatchSize Observations, or when the oldest Observation
+ * in it has waited maxDelay milliseconds, whichever comes first.
+ *
+ * The queue of Observations waiting to be batched is bounded: when it is full,
+ * {@link #add(Observation)} blocks until there is space.
+ *
+ * Creation happens in the background, failures are reported to the
+ * {@link FailureListener}, if one is set. Close the writer to send the
+ * remaining Observations.
+ *
+ * @author scf
+ */
+public class ObservationBatchWriter implements AutoCloseable {
+
+    /**
+     * The logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObservationBatchWriter.class);
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+    public static final long DEFAULT_MAX_DELAY = 1000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+    /**
+     * Receives the Observations that could not be created.
+     */
+    @FunctionalInterface
+    public static interface FailureListener {
+
+        /**
+         * Called from the background thread of the writer, for the
+         * Observations that could not be created.
+         *
+         * @param observations The Observations that failed.
+         * @param failure The reason of the failure.
+         */
+        public void onFailure(List<Observation> observations, ServiceFailureException failure);
+    }
+
+    private static class Entry {
+
+        private final Observation observation;
+        private final String key;
+        private final CountDownLatch done;
+        private final boolean close;
+
+        public Entry(Observation observation, String key) {
+            this.observation = observation;
+            this.key = key;
+            this.done = null;
+            this.close = false;
+        }
+
+        public Entry(boolean close) {
+            this.observation = null;
+            this.key = null;
+            this.done = new CountDownLatch(1);
+            this.close = close;
+        }
+
+        public boolean isMarker() {
+            return observation == null;
+        }
+    }
+
+    private final SensorThingsService service;
+    private final Set<DataArrayValue.Property> components;
+    private final int maxBatchSize;
+    private final long maxDelay;
+    private final BlockingQueue<Entry> queue;
+    private final Thread flusher;
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile FailureListener failureListener;
+    /**
+     * Producers hold the read lock while they put entries in the queue, close
+     * takes the write lock to set closed, so that nothing is queued after the
+     * close marker.
+     */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    /**
+     * The pending DataArrays, by their key, in order of creation.
+     */
+    private final Map<String, DataArrayValue> pending = new LinkedHashMap<>();
+    private int pendingCount;
+    private long pendingSince;
+
+    /**
+     * Create a writer with the default batch size, delay and queue capacity.
+     *
+     * @param service The service to create the Observations in.
+     * @param components The Observation properties to send.
+     */
+    public ObservationBatchWriter(SensorThingsService service, Set<DataArrayValue.Property> components) {
+        this(service, components, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Create a writer.
+     *
+     * @param service The service to create the Observations in.
+     * @param components The Observation properties to send.
+     * @param maxBatchSize The maximum number of Observations sent in one
+     * request.
+     * @param maxDelay The maximum time, in milliseconds, an Observation waits
+     * before it is sent.
+     * @param queueCapacity The maximum number of Observations waiting to be
+     * batched, before {@link #add(Observation)} blocks.
+     */
+    public ObservationBatchWriter(SensorThingsService service, Set<DataArrayValue.Property> components, int maxBatchSize, long maxDelay, int queueCapacity) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1.");
+        }
+        this.service = service;
+        this.components = components;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flusher = Thread.ofPlatform()
+                .daemon()
+                .name("ObservationBatchWriter")
+                .start(this::run);
+    }
+
+    /**
+     * Set the listener that is notified of Observations that could not be
+     * created.
+     *
+     * @param failureListener The listener, can be null.
+     * @return this.
+     */
+    public ObservationBatchWriter setFailureListener(FailureListener failureListener) {
+        this.failureListener = failureListener;
+        return this;
+    }
+
+    /**
+     * Add the given Observation to be created. Blocks if the queue is full.
+     * The Observation must have a result, and a Datastream or MultiDatastream
+     * with an id.
+     *
+     * @param observation The Observation to create.
+     * @throws InterruptedException If interrupted while waiting for space in
+     * the queue.
+     */
+    public void add(Observation observation) throws InterruptedException {
+        final Entry entry = toEntry(observation);
+        final Lock lock = closeLock.readLock();
+        lock.lockInterruptibly();
+        try {
+            checkOpen();
+            queue.put(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Add the given Observation to be created, waiting at most the given time
+     * if the queue is full.
+     *
+     * @param observation The Observation to create.
+     * @param timeout How long to wait for space in the queue.
+     * @param unit The unit of the timeout.
+     * @return false if the queue was still full after the timeout.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public boolean offer(Observation observation, long timeout, TimeUnit unit) throws InterruptedException {
+        final Entry entry = toEntry(observation);
+        final Lock lock = closeLock.readLock();
+        lock.lockInterruptibly();
+        try {
+            checkOpen();
+            return queue.offer(entry, timeout, unit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed.");
+        }
+    }
+
+    private Entry toEntry(Observation observation) {
+        checkOpen();
+        if (!observation.isResultSet()) {
+            throw new IllegalArgumentException("Result must be set on Observation.");
+        }
+        return new Entry(observation, DataArrayValue.dataArrayKeyFor(observation));
+    }
+
+    /**
+     * Send all Observations added before this call, and wait until they are
+     * sent.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        final Entry marker = new Entry(false);
+        final Lock lock = closeLock.readLock();
+        lock.lockInterruptibly();
+        try {
+            if (closed) {
+                return;
+            }
+            queue.put(marker);
+        } finally {
+            lock.unlock();
+        }
+        marker.done.await();
+    }
+
+    /**
+     * Send the remaining Observations and stop the background thread.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        final Lock lock = closeLock.writeLock();
+        lock.lockInterruptibly();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        final Entry marker = new Entry(true);
+        queue.put(marker);
+        marker.done.await();
+        flusher.join();
+    }
+
+    /**
+     * @return The number of Observations created so far.
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * @return The number of Observations that failed so far.
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return The number of Observations waiting in the queue.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                final Entry entry;
+                if (pendingCount == 0) {
+                    entry = queue.take();
+                } else {
+                    final long wait = pendingSince + maxDelay - System.currentTimeMillis();
+                    entry = queue.poll(Math.max(0, wait), TimeUnit.MILLISECONDS);
+                }
+                if (entry == null) {
+                    sendPending();
+                } else if (entry.isMarker()) {
+                    try {
+                        sendPending();
+                    } finally {
+                        entry.done.countDown();
+                    }
+                    if (entry.close) {
+                        return;
+                    }
+                } else {
+                    addPending(entry);
+                    if (pendingCount >= maxBatchSize || System.currentTimeMillis() - pendingSince >= maxDelay) {
+                        sendPending();
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            LOGGER.warn("Batch writer interrupted, {} Observations not sent.", pendingCount + queue.size());
+            Thread.currentThread().interrupt();
+        } finally {
+            failRemaining();
+        }
+    }
+
+    /**
+     * Fails everything that is left when the background thread stops, and
+     * releases the threads waiting for a flush or close.
+     */
+    private void failRemaining() {
+        closed = true;
+        final List<Observation> observations = new ArrayList<>();
+        pending.values().forEach(dav -> observations.addAll(dav.getObservations()));
+        pending.clear();
+        pendingCount = 0;
+        final List<Entry> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        for (Entry entry : leftovers) {
+            if (entry.isMarker()) {
+                entry.done.countDown();
+            } else {
+                observations.add(entry.observation);
+            }
+        }
+        if (!observations.isEmpty()) {
+            notifyFailure(observations, new ServiceFailureException("Batch writer stopped before the Observations were sent."));
+        }
+    }
+
+    private void addPending(Entry entry) {
+        try {
+            final DataArrayValue dav = pending.computeIfAbsent(entry.key, k -> createDataArrayValue(entry.observation));
+            dav.addObservation(entry.observation);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to add Observation to batch.", ex);
+            pending.computeIfPresent(entry.key, (k, v) -> v.getObservations().isEmpty() ? null : v);
+            notifyFailure(Collections.singletonList(entry.observation), new ServiceFailureException(ex));
+            return;
+        }
+        if (pendingCount == 0) {
+            pendingSince = System.currentTimeMillis();
+        }
+        pendingCount++;
+    }
+
+    private DataArrayValue createDataArrayValue(Observation observation) {
+        try {
+            final Datastream datastream = observation.getDatastream();
+            if (datastream != null) {
+                return new DataArrayValue(datastream, components);
+            }
+            final MultiDatastream multiDatastream = observation.getMultiDatastream();
+            return new DataArrayValue(multiDatastream, components);
+        } catch (ServiceFailureException ex) {
+            // dataArrayKeyFor already checked the (Multi)Datastream, this should not happen.
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void sendPending() {
+        if (pendingCount == 0) {
+            return;
+        }
+        final DataArrayDocument document = new DataArrayDocument();
+        pending.values().forEach(document::addDataArrayValue);
+        pending.clear();
+        pendingCount = 0;
+
+        final List<Observation> observations = document.getObservations();
+        LOGGER.debug("Sending batch of {} Observations.", observations.size());
+        final List<String> locations;
+        try {
+            locations = service.observations().create(document);
+        } catch (ServiceFailureException ex) {
+            LOGGER.warn("Failed to send batch of {} Observations.", observations.size(), ex);
+            notifyFailure(observations, ex);
+            return;
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Failed to send batch of {} Observations.", observations.size(), ex);
+            notifyFailure(observations, new ServiceFailureException(ex));
+            return;
+        }
+        final int count = Math.min(observations.size(), locations.size());
+        for (int idx = 0; idx < count; idx++) {
+            final String location = locations.get(idx);
+            if (location.startsWith("error")) {
+                notifyFailure(Collections.singletonList(observations.get(idx)), new ServiceFailureException("Server rejected Observation: " + location));
+            } else {
+                createdCount.incrementAndGet();
+            }
+        }
+        if (count < observations.size()) {
+            notifyFailure(new ArrayList<>(observations.subList(count, observations.size())), new ServiceFailureException("Server did not return a location for the Observations."));
+        }
+    }
+
+    private void notifyFailure(List<Observation> observations, ServiceFailureException failure) {
+        failedCount.addAndGet(observations.size());
+        final FailureListener listener = failureListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onFailure(observations, failure);
+        } catch (RuntimeException ex) {
+            LOGGER.error("FailureListener threw an exception.", ex);
+        }
+    }
+
+}
@@ -25,22 +25,20 @@ package de.fraunhofer.iosb.ilt.sta.dao;
 import de.fraunhofer.iosb.ilt.sta.MqttException;
 import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
 import de.fraunhofer.iosb.ilt.sta.Utils;
-import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.jackson.DataFormat;
 import de.fraunhofer.iosb.ilt.sta.model.Id;
 import de.fraunhofer.iosb.ilt.sta.model.Observation;
 import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayDocument;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayValue;
 import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.List;
-import org.apache.http.Consts;
+import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tools.jackson.core.JacksonException;
@@ -94,12 +92,11 @@ public class ObservationDao extends BaseDao<Observation> {
      */
     public List<String> create(DataArrayDocument dataArray) throws ServiceFailureException {
         List<String> result = new ArrayList<>();
-        final ObjectMapper mapper = ObjectMapperFactory.get();
         URIBuilder uriBuilder;
         HttpPost httpPost;
-        String json;
+        HttpEntity body;
         try {
-            json = mapper.writeValueAsString(dataArray.getValue());
+            body = getService().createEntity(dataArray.getValue());
             uriBuilder = new URIBuilder(getService().getEndpoint() + "CreateObservations");
             httpPost = new HttpPost(uriBuilder.build());
         } catch (JacksonException | URISyntaxException ex) {
@@ -107,31 +104,32 @@ public class ObservationDao extends BaseDao<Observation> {
         }
 
         LOGGER.debug("Posting to: {}", httpPost.getURI());
-        httpPost.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+        httpPost.setEntity(body);
+        httpPost.addHeader("Accept", getService().getAcceptHeader());
 
         try (CloseableHttpResponse response = getService().execute(httpPost)) {
 
             Utils.throwIfNotOk(httpPost, response);
 
-            String jsonResponse = EntityUtils.toString(response.getEntity(), Consts.UTF_8);
-            result = mapper.readValue(jsonResponse, LIST_OF_STRING);
-            List<Observation> observations = dataArray.getObservations();
-            if (observations.size() != result.size()) {
-                LOGGER.error("Size of returned location list ({}) is not equal to number of sent Observations ({})!", result.size(), observations.size());
+            final ObjectMapper mapper = DataFormat.of(response).getMapper();
+            result = mapper.readValue(response.getEntity().getContent(), LIST_OF_STRING);
+            int rowCount = 0;
+            for (DataArrayValue dav : dataArray.getValue()) {
+                rowCount += dav.size();
             }
-            int i = 0;
-            for (Observation o : observations) {
-                String newLocation = result.get(i);
-                if (newLocation.startsWith("error")) {
-                    LOGGER.warn("Failed to insert Observation. Error: {}.", newLocation);
-                } else {
-                    int pos1 = newLocation.indexOf('(') + 1;
-                    int pos2 = newLocation.indexOf(')', pos1);
-                    String stringId = newLocation.substring(pos1, pos2);
-                    o.setId(Id.tryToParse(stringId));
-                    o.setService(getService());
+            if (rowCount != result.size()) {
+                LOGGER.error("Size of returned location list ({}) is not equal to number of sent Observations ({})!", result.size(), rowCount);
+            }
+            int offset = 0;
+            for (DataArrayValue dav : dataArray.getValue()) {
+                List<Observation> observations = dav.getObservations();
+                // Observations are only kept by DataArrayValues that store rows as Observations.
+                if (observations.size() == dav.size()) {
+                    for (int i = 0; i < observations.size() && offset + i < result.size(); i++) {
+                        setIdFromLocation(observations.get(i), result.get(offset + i));
+                    }
                 }
-                i++;
+                offset += dav.size();
             }
 
         } catch (IOException exc) {
@@ -139,4 +137,16 @@ public class ObservationDao extends BaseDao<Observation> {
         }
         return result;
     }
+
+    private void setIdFromLocation(Observation o, String newLocation) {
+        if (newLocation.startsWith("error")) {
+            LOGGER.warn("Failed to insert Observation. Error: {}.", newLocation);
+        } else {
+            int pos1 = newLocation.indexOf('(') + 1;
+            int pos2 = newLocation.indexOf(')', pos1);
+            String stringId = newLocation.substring(pos1, pos2);
+            o.setId(Id.tryToParse(stringId));
+            o.setService(getService());
+        }
+    }
 }
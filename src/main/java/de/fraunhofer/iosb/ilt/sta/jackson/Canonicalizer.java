@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import tools.jackson.databind.DeserializationContext;
+
+/**
+ * Deduplicates strings while entities are read. Pages of entities tend to
+ * repeat the same names, observationTypes, units and property values; with a
+ * Canonicalizer all equal strings share one instance. Only immutable strings
+ * are shared, the objects holding them, like UnitOfMeasurement, stay separate
+ * per entity. The number of held strings is bounded: when the maximum is
+ * reached, all held strings are dropped, and canonicalization starts over.
+ *
+ * A Canonicalizer is thread-safe, and can be shared by all queries of a
+ * service.
+ *
+ * @author scf
+ */
+public class Canonicalizer {
+
+    /**
+     * The deserialisation attribute that holds the Canonicalizer to use.
+     */
+    public static final String ATTRIBUTE_CANONICALIZER = Canonicalizer.class.getName();
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    public static final int DEFAULT_MAX_STRING_LENGTH = 256;
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final int maxStringLength;
+
+    public Canonicalizer() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_STRING_LENGTH);
+    }
+
+    /**
+     * Create a Canonicalizer.
+     *
+     * @param maxSize The maximum number of values to hold.
+     * @param maxStringLength The maximum length of strings to canonicalize.
+     * Longer strings are rarely repeated, and are returned unchanged.
+     */
+    public Canonicalizer(int maxSize, int maxStringLength) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1, got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.maxStringLength = maxStringLength;
+    }
+
+    /**
+     * Find the Canonicalizer set on the given context.
+     *
+     * @param context The context to get the Canonicalizer from.
+     * @return The Canonicalizer of the context, or null if none is set.
+     */
+    public static Canonicalizer of(DeserializationContext context) {
+        return (Canonicalizer) context.getAttribute(ATTRIBUTE_CANONICALIZER);
+    }
+
+    /**
+     * Returns the canonical instance of the given string.
+     *
+     * @param value The string to canonicalize.
+     * @return The canonical instance equal to the given string.
+     */
+    public String canonical(String value) {
+        if (value == null || value.length() > maxStringLength) {
+            return value;
+        }
+        final String existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.size() >= maxSize) {
+            values.clear();
+        }
+        final String raced = values.putIfAbsent(value, value);
+        return raced == null ? value : raced;
+    }
+
+    /**
+     * Canonicalizes the strings in the given free-form value. Maps and lists
+     * are changed in place, their keys are not touched.
+     *
+     * @param value The value to canonicalize the strings of.
+     * @return The value, or the canonical instance if the value is a string.
+     */
+    @SuppressWarnings("unchecked")
+    public Object canonicalizeValues(Object value) {
+        if (value instanceof String) {
+            return canonical((String) value);
+        }
+        if (value instanceof Map) {
+            for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) value).entrySet()) {
+                final Object entryValue = entry.getValue();
+                final Object canonical = canonicalizeValues(entryValue);
+                if (canonical != entryValue) {
+                    entry.setValue(canonical);
+                }
+            }
+        } else if (value instanceof List) {
+            for (ListIterator<Object> it = ((List<Object>) value).listIterator(); it.hasNext();) {
+                final Object item = it.next();
+                final Object canonical = canonicalizeValues(item);
+                if (canonical != item) {
+                    it.set(canonical);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * The number of values currently held.
+     *
+     * @return The number of values currently held.
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Drops all held values.
+     */
+    public void clear() {
+        values.clear();
+    }
+
+}
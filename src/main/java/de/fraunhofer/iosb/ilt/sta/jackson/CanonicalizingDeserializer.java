@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.deser.std.DelegatingDeserializer;
+
+/**
+ * Wraps a deserializer, and canonicalizes the values it produces, if a
+ * {@link Canonicalizer} is set on the context. Free-form values, like
+ * properties maps, have their strings canonicalized in place; the maps and
+ * lists themselves are not shared, since they are mutable.
+ *
+ * @author scf
+ */
+public class CanonicalizingDeserializer extends DelegatingDeserializer {
+
+    private static final long serialVersionUID = -1934265872330211094L;
+
+    /**
+     * Create a canonicalizing wrapper.
+     *
+     * @param delegatee The deserializer to wrap.
+     */
+    public CanonicalizingDeserializer(ValueDeserializer<?> delegatee) {
+        super(delegatee);
+    }
+
+    @Override
+    protected ValueDeserializer<?> newDelegatingInstance(ValueDeserializer<?> newDelegatee) {
+        return new CanonicalizingDeserializer(newDelegatee);
+    }
+
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws JacksonException {
+        final Object value = _delegatee.deserialize(parser, context);
+        final Canonicalizer canonicalizer = Canonicalizer.of(context);
+        if (canonicalizer == null) {
+            return value;
+        }
+        return canonicalizer.canonicalizeValues(value);
+    }
+
+}
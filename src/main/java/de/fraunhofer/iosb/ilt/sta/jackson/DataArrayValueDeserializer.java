@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.MultiDatastream;
+import de.fraunhofer.iosb.ilt.sta.model.ext.ColumnarDataArrayValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.ColumnarDataArrayValue.Column;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayValue;
+import java.util.ArrayList;
+import java.util.List;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.deser.std.DelegatingDeserializer;
+
+/**
+ * Deserializer for the DataArrays returned for $resultFormat=dataArray. If the
+ * {@link ColumnarDataArrayValue#ATTRIBUTE_COLUMNAR} attribute is set, the rows
+ * are decoded straight into the columns of a {@link ColumnarDataArrayValue},
+ * so integer columns never exist as boxed numbers. Otherwise the wrapped
+ * default deserializer creates a normal DataArrayValue.
+ *
+ * @author scf
+ */
+public class DataArrayValueDeserializer extends DelegatingDeserializer {
+
+    private static final long serialVersionUID = 4316958843297703816L;
+
+    private static final String FIELD_COMPONENTS = "components";
+    private static final String FIELD_DATA_ARRAY = "dataArray";
+    private static final String FIELD_DATASTREAM = "Datastream";
+    private static final String FIELD_MULTI_DATASTREAM = "MultiDatastream";
+    private static final String FIELD_DATASTREAM_LINK = "Datastream@iot.navigationLink";
+    private static final String FIELD_MULTI_DATASTREAM_LINK = "MultiDatastream@iot.navigationLink";
+
+    /**
+     * Create a columnar wrapper.
+     *
+     * @param delegatee The default deserializer of DataArrayValue.
+     */
+    public DataArrayValueDeserializer(ValueDeserializer<?> delegatee) {
+        super(delegatee);
+    }
+
+    @Override
+    protected ValueDeserializer<?> newDelegatingInstance(ValueDeserializer<?> newDelegatee) {
+        return new DataArrayValueDeserializer(newDelegatee);
+    }
+
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws JacksonException {
+        if (context.getAttribute(ColumnarDataArrayValue.ATTRIBUTE_COLUMNAR) != Boolean.TRUE) {
+            return _delegatee.deserialize(parser, context);
+        }
+        return deserializeColumnar(parser, context);
+    }
+
+    private DataArrayValue deserializeColumnar(JsonParser parser, DeserializationContext context) throws JacksonException {
+        List<String> components = new ArrayList<>();
+        final List<Column> columns = new ArrayList<>();
+        int size = 0;
+        Datastream datastream = null;
+        MultiDatastream multiDatastream = null;
+        String navigationLink = null;
+
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        for (; token == JsonToken.PROPERTY_NAME; token = parser.nextToken()) {
+            final String name = parser.currentName();
+            final JsonToken valueToken = parser.nextToken();
+            switch (name) {
+                case FIELD_COMPONENTS:
+                    components = readComponents(parser, context, valueToken);
+                    break;
+
+                case FIELD_DATA_ARRAY:
+                    size = readRows(parser, context, valueToken, columns);
+                    break;
+
+                case FIELD_DATASTREAM:
+                    datastream = context.readValue(parser, Datastream.class);
+                    break;
+
+                case FIELD_MULTI_DATASTREAM:
+                    multiDatastream = context.readValue(parser, MultiDatastream.class);
+                    break;
+
+                case FIELD_DATASTREAM_LINK:
+                case FIELD_MULTI_DATASTREAM_LINK:
+                    navigationLink = parser.getValueAsString();
+                    break;
+
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        final ColumnarDataArrayValue value = new ColumnarDataArrayValue(components, columns, size);
+        if (datastream != null) {
+            value.setDatastream(datastream);
+        }
+        if (multiDatastream != null) {
+            value.setMultiDatastream(multiDatastream);
+        }
+        value.setNavigationLink(navigationLink);
+        return value;
+    }
+
+    private List<String> readComponents(JsonParser parser, DeserializationContext context, JsonToken valueToken) throws JacksonException {
+        final List<String> components = new ArrayList<>();
+        if (valueToken != JsonToken.START_ARRAY) {
+            return context.reportInputMismatch(this, "components must be an array, found %s", valueToken);
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            components.add(parser.getValueAsString());
+        }
+        return components;
+    }
+
+    private int readRows(JsonParser parser, DeserializationContext context, JsonToken valueToken, List<Column> columns) throws JacksonException {
+        if (valueToken != JsonToken.START_ARRAY) {
+            return context.reportInputMismatch(this, "dataArray must be an array, found %s", valueToken);
+        }
+        int rows = 0;
+        for (JsonToken rowToken = parser.nextToken(); rowToken != JsonToken.END_ARRAY; rowToken = parser.nextToken()) {
+            if (rowToken != JsonToken.START_ARRAY) {
+                return context.reportInputMismatch(this, "Rows of a dataArray must be arrays, found %s", rowToken);
+            }
+            int col = 0;
+            for (JsonToken cellToken = parser.nextToken(); cellToken != JsonToken.END_ARRAY; cellToken = parser.nextToken()) {
+                if (col == columns.size()) {
+                    // A column that earlier rows did not have.
+                    final Column column = new Column();
+                    for (int row = 0; row < rows; row++) {
+                        column.addValue(null);
+                    }
+                    columns.add(column);
+                }
+                readCell(parser, context, cellToken, columns.get(col));
+                col++;
+            }
+            for (; col < columns.size(); col++) {
+                columns.get(col).addValue(null);
+            }
+            rows++;
+        }
+        return rows;
+    }
+
+    private static void readCell(JsonParser parser, DeserializationContext context, JsonToken token, Column column) throws JacksonException {
+        switch (token) {
+            case VALUE_NUMBER_INT:
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    column.addValue(parser.getBigIntegerValue());
+                } else {
+                    column.addLong(parser.getLongValue());
+                }
+                break;
+
+            case VALUE_NUMBER_FLOAT:
+                if (context.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+                    column.addValue(parser.getDecimalValue());
+                } else {
+                    column.addDouble(parser.getDoubleValue());
+                }
+                break;
+
+            case VALUE_STRING:
+                column.addValue(parser.getString());
+                break;
+
+            case VALUE_NULL:
+                column.addValue(null);
+                break;
+
+            default:
+                column.addValue(context.readValue(parser, Object.class));
+        }
+    }
+
+}
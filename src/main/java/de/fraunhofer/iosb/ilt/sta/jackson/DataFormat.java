@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import java.util.Locale;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * The encodings that entities can be exchanged with the service in. JSON is
+ * always supported, the binary Smile and CBOR encodings of the same data model
+ * are smaller and faster to parse, but need server support.
+ *
+ * @author scf
+ */
+public enum DataFormat {
+    JSON(ContentType.APPLICATION_JSON),
+    SMILE(ContentType.create("application/x-jackson-smile")),
+    CBOR(ContentType.create("application/cbor"));
+
+    private final ContentType contentType;
+
+    private DataFormat(ContentType contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return The content type of request bodies in this format.
+     */
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return The mime type of this format.
+     */
+    public String getMimeType() {
+        return contentType.getMimeType();
+    }
+
+    /**
+     * @return true if this format is not JSON.
+     */
+    public boolean isBinary() {
+        return this != JSON;
+    }
+
+    /**
+     * The value of the Accept header for requests that prefer this format.
+     * Binary formats also accept JSON, with a lower preference, so that
+     * servers without support for the binary format can still answer.
+     *
+     * @return The value for the Accept header.
+     */
+    public String getAcceptHeader() {
+        if (isBinary()) {
+            return getMimeType() + ", " + JSON.getMimeType() + ";q=0.5";
+        }
+        return getMimeType();
+    }
+
+    /**
+     * @return The ObjectMapper that reads and writes this format.
+     */
+    public ObjectMapper getMapper() {
+        return ObjectMapperFactory.get(this);
+    }
+
+    /**
+     * Find the format with the given mime type. Parameters like charset are
+     * ignored.
+     *
+     * @param mimeType The mime type to find the format for.
+     * @return The matching format, or JSON if the mime type is null or not a
+     * binary format.
+     */
+    public static DataFormat forMimeType(String mimeType) {
+        if (mimeType == null) {
+            return JSON;
+        }
+        int semicolon = mimeType.indexOf(';');
+        String cleaned = (semicolon < 0 ? mimeType : mimeType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+        for (DataFormat format : values()) {
+            if (format.getMimeType().equals(cleaned)) {
+                return format;
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Find the format of the given entity, based on its Content-Type.
+     *
+     * @param entity The entity to find the format of.
+     * @return The format of the entity, JSON if the entity has no or an
+     * unknown Content-Type.
+     */
+    public static DataFormat of(HttpEntity entity) {
+        if (entity == null) {
+            return JSON;
+        }
+        Header contentTypeHeader = entity.getContentType();
+        return forMimeType(contentTypeHeader == null ? null : contentTypeHeader.getValue());
+    }
+
+    /**
+     * Find the format of the body of the given response, based on its
+     * Content-Type.
+     *
+     * @param response The response to find the format of.
+     * @return The format of the response body, JSON if the response has no or
+     * an unknown Content-Type.
+     */
+    public static DataFormat of(HttpResponse response) {
+        return of(response.getEntity());
+    }
+
+}
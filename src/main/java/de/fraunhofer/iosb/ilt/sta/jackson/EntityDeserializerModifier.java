@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import de.fraunhofer.iosb.ilt.sta.model.Entity;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import tools.jackson.databind.BeanDescription;
+import tools.jackson.databind.DeserializationConfig;
+import tools.jackson.databind.deser.BeanDeserializerBuilder;
+import tools.jackson.databind.deser.SettableBeanProperty;
+import tools.jackson.databind.deser.ValueDeserializerModifier;
+import tools.jackson.databind.introspect.AnnotatedMethod;
+
+/**
+ * Replaces the reflective setters of SensorThings Entities with
+ * {@link GeneratedSetterProperty}s. This is the reading counterpart of the
+ * generated getters in {@link EntitySerializer}.
+ *
+ * @author scf
+ */
+public class EntityDeserializerModifier extends ValueDeserializerModifier {
+
+    private static final long serialVersionUID = 2806273641548123398L;
+
+    @Override
+    public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription.Supplier beanDescRef, BeanDeserializerBuilder builder) {
+        if (!Entity.class.isAssignableFrom(beanDescRef.getBeanClass())) {
+            return builder;
+        }
+        List<SettableBeanProperty> replacements = new ArrayList<>();
+        for (Iterator<SettableBeanProperty> it = builder.getProperties(); it.hasNext();) {
+            SettableBeanProperty property = it.next();
+            if (property.getMember() instanceof AnnotatedMethod) {
+                BiConsumer<Object, Object> setter = GeneratedSetterProperty.createSetter(property.getMember().getMember());
+                if (setter != null) {
+                    replacements.add(new GeneratedSetterProperty(property, setter));
+                }
+            }
+        }
+        for (SettableBeanProperty replacement : replacements) {
+            builder.addOrReplaceProperty(replacement, true);
+        }
+        return builder;
+    }
+
+}
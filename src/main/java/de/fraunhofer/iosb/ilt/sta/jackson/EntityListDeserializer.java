@@ -46,6 +46,11 @@ public class EntityListDeserializer<T extends Entity<T>> extends StdDeserializer
     private static final Logger LOGGER = LoggerFactory.getLogger(EntityListDeserializer.class);
 
     private Class<T> type;
+    /**
+     * The deserializer for the entities in the list, resolved once in
+     * createContextual, instead of for each entity.
+     */
+    private ValueDeserializer<Object> entityDeserializer;
 
     public EntityListDeserializer() {
         super(EntityList.class);
@@ -56,6 +61,12 @@ public class EntityListDeserializer<T extends Entity<T>> extends StdDeserializer
         this.type = type;
     }
 
+    private EntityListDeserializer(Class<T> type, ValueDeserializer<Object> entityDeserializer) {
+        super(EntityList.class);
+        this.type = type;
+        this.entityDeserializer = entityDeserializer;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public ValueDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
@@ -68,7 +79,18 @@ public class EntityListDeserializer<T extends Entity<T>> extends StdDeserializer
         }
 
         JavaType valueType = wrapperType.containedType(0);
-        return new EntityListDeserializer(valueType.getRawClass());
+        return new EntityListDeserializer(valueType.getRawClass(), ctxt.findContextualValueDeserializer(valueType, property));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T readEntity(JsonParser parser, DeserializationContext context) throws JacksonException {
+        if (entityDeserializer == null) {
+            return parser.readValueAs(type);
+        }
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return (T) entityDeserializer.getNullValue(context);
+        }
+        return (T) entityDeserializer.deserialize(parser, context);
     }
 
     @Override
@@ -81,7 +103,7 @@ public class EntityListDeserializer<T extends Entity<T>> extends StdDeserializer
         if (currentToken == JsonToken.START_ARRAY) {
             // Direct array, probably expanded.
             while (parser.nextToken() != JsonToken.END_ARRAY) {
-                entities.add(parser.readValueAs(type));
+                entities.add(readEntity(parser, context));
             }
         } else {
             boolean done = false;
@@ -111,7 +133,7 @@ public class EntityListDeserializer<T extends Entity<T>> extends StdDeserializer
                             case "value":
                                 if (valueToken == JsonToken.START_ARRAY) {
                                     while (parser.nextToken() != JsonToken.END_ARRAY) {
-                                        entities.add(parser.readValueAs(type));
+                                        entities.add(readEntity(parser, context));
                                     }
                                 } else {
                                     LOGGER.warn("value field is not an array!");
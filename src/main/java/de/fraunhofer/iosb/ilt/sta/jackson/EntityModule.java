@@ -26,6 +26,9 @@ import de.fraunhofer.iosb.ilt.sta.model.Entity;
 import de.fraunhofer.iosb.ilt.sta.model.Id;
 import de.fraunhofer.iosb.ilt.sta.model.TimeObject;
 import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.model.ext.LazyValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericDataArrayValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericResult;
 import de.fraunhofer.iosb.ilt.sta.model.ext.UnitOfMeasurement;
 import org.threeten.extra.Interval;
 import tools.jackson.core.Version;
@@ -48,9 +51,21 @@ public class EntityModule extends SimpleModule {
         addSerializer(UnitOfMeasurement.class, new UnitOfMeasurementSerializer());
         addSerializer(Interval.class, new IntervalSerializer());
         addSerializer(TimeObject.class, new TimeObjectSerializer());
+        addSerializer(NumericDataArrayValue.class, new NumericDataArrayValueSerializer());
+        addSerializer(LazyValue.class, new LazyValueSerializer());
+        addSerializer(NumericResult.class, new NumericResultSerializer());
         addDeserializer(EntityList.class, new EntityListDeserializer<>());
         addDeserializer(Id.class, new IdDeserializer());
         addDeserializer(Interval.class, new IntervalDeserializer());
         addDeserializer(TimeObject.class, new TimeObjectDeserializer());
+        addDeserializer(String.class, new CanonicalStringDeserializer());
+        setDeserializerModifier(new CanonicalizingDeserializerModifier());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.addDeserializerModifier(new EntityDeserializerModifier());
+        context.addDeserializerModifier(new DataArrayValueDeserializerModifier());
     }
 }
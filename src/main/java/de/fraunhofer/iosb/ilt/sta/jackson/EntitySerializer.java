@@ -26,137 +26,271 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import de.fraunhofer.iosb.ilt.sta.model.Entity;
 import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonGenerator;
 import tools.jackson.core.exc.StreamWriteException;
 import tools.jackson.databind.BeanDescription;
-import tools.jackson.databind.SerializationConfig;
+import tools.jackson.databind.MapperFeature;
 import tools.jackson.databind.SerializationContext;
-import tools.jackson.databind.ValueSerializer;
-import tools.jackson.databind.annotation.JsonSerialize;
 import tools.jackson.databind.introspect.AnnotatedMember;
 import tools.jackson.databind.introspect.BeanPropertyDefinition;
-import tools.jackson.databind.jsontype.TypeSerializer;
-import tools.jackson.databind.ser.BeanPropertyWriter;
 import tools.jackson.databind.ser.std.StdSerializer;
 
 /**
  * Serializer for SensorThings Entities.
  *
+ * The properties of each entity class are introspected only once. The result
+ * is cached as a serialization plan: the ordered list of properties with their
+ * accessors, null handling and relation kind. Public getters are bound to
+ * generated accessor functions, so that writing an entity does not use
+ * reflection.
+ *
  * @author Nils Sommer
  *
  */
 public class EntitySerializer extends StdSerializer<Entity> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntitySerializer.class);
+
+    /**
+     * How the value of a property is written.
+     */
+    static enum RelationKind {
+        /**
+         * The property can only hold an Entity.
+         */
+        ENTITY,
+        /**
+         * The property can only hold an EntityList.
+         */
+        ENTITY_LIST,
+        /**
+         * The property is a String, that can be written directly.
+         */
+        STRING,
+        /**
+         * The property can not hold an Entity or EntityList.
+         */
+        VALUE,
+        /**
+         * The declared type of the property does not tell, the runtime type of
+         * the value has to be checked.
+         */
+        DYNAMIC;
+
+        static RelationKind forType(Class<?> rawType) {
+            if (rawType == String.class) {
+                return STRING;
+            }
+            if (Entity.class.isAssignableFrom(rawType)) {
+                return ENTITY;
+            }
+            if (EntityList.class.isAssignableFrom(rawType)) {
+                return ENTITY_LIST;
+            }
+            if (rawType.isAssignableFrom(Entity.class) || rawType.isAssignableFrom(EntityList.class)) {
+                return DYNAMIC;
+            }
+            return VALUE;
+        }
+    }
+
+    /**
+     * The cached information needed to write one property.
+     */
+    static class PropertyPlan {
+
+        final String name;
+        final Function<Object, Object> getter;
+        final boolean suppressNulls;
+        final RelationKind kind;
+
+        PropertyPlan(BeanPropertyDefinition property, AnnotatedMember accessor) {
+            this.name = property.getName();
+            this.getter = createGetter(accessor);
+            JsonInclude includeAnnotation = accessor.getAnnotation(JsonInclude.class);
+            this.suppressNulls = includeAnnotation == null || includeAnnotation.value() != JsonInclude.Include.ALWAYS;
+            this.kind = RelationKind.forType(accessor.getRawType());
+        }
+    }
+
+    /**
+     * Creates a function that reads the given property. For public getters of
+     * public classes this is a generated lambda that calls the getter
+     * directly, other accessors fall back to reflection.
+     *
+     * @param accessor The accessor of the property.
+     * @return A function that reads the property from an entity.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> createGetter(AnnotatedMember accessor) {
+        Member member = accessor.getMember();
+        if (member instanceof Method
+                && Modifier.isPublic(member.getModifiers())
+                && Modifier.isPublic(member.getDeclaringClass().getModifiers())
+                && !Modifier.isStatic(member.getModifiers())) {
+            Method method = (Method) member;
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle target = lookup.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(
+                        lookup,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        target,
+                        MethodType.methodType(method.getReturnType().isPrimitive() ? target.type().wrap().returnType() : method.getReturnType(), method.getDeclaringClass()));
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable ex) {
+                LOGGER.debug("Failed to generate accessor for {}, using reflection.", method, ex);
+            }
+        }
+        return accessor::getValue;
+    }
+
+    private final Map<Class<?>, List<PropertyPlan>> plans = new ConcurrentHashMap<>();
+
     public EntitySerializer() {
         super(Entity.class);
     }
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(EntitySerializer.class);
+    private List<PropertyPlan> getPlan(Class<?> entityClass, SerializationContext serializers) {
+        List<PropertyPlan> plan = plans.get(entityClass);
+        if (plan == null) {
+            plan = createPlan(entityClass, serializers);
+            plans.put(entityClass, plan);
+        }
+        return plan;
+    }
+
+    private static List<PropertyPlan> createPlan(Class<?> entityClass, SerializationContext serializers) {
+        final BeanDescription beanDesc = serializers.introspectBeanDescription(serializers.constructType(entityClass));
+        List<PropertyPlan> plan = new ArrayList<>();
+        for (BeanPropertyDefinition property : beanDesc.findProperties()) {
+            AnnotatedMember accessor = property.getAccessor();
+            if (accessor != null) {
+                if (serializers.canOverrideAccessModifiers()) {
+                    accessor.fixAccess(serializers.isEnabled(MapperFeature.OVERRIDE_PUBLIC_ACCESS_MODIFIERS));
+                }
+                plan.add(new PropertyPlan(property, accessor));
+            }
+        }
+        return Collections.unmodifiableList(plan);
+    }
 
     @Override
     public void serialize(Entity entity, JsonGenerator gen, SerializationContext serializers) throws JacksonException {
         gen.writeStartObject();
+        for (PropertyPlan property : getPlan(entity.getClass(), serializers)) {
+            Object rawValue = property.getter.apply(entity);
+            switch (property.kind) {
+                case STRING:
+                    if (rawValue != null) {
+                        gen.writeName(property.name);
+                        gen.writeString((String) rawValue);
+                    } else {
+                        writeValue(property, null, gen, serializers);
+                    }
+                    break;
 
-        SerializationConfig config = serializers.getConfig();
-        final BeanDescription beanDesc = serializers.introspectBeanDescription(serializers.constructType(entity.getClass()));
+                case VALUE:
+                    writeValue(property, rawValue, gen, serializers);
+                    break;
 
-        List<BeanPropertyDefinition> properties = beanDesc.findProperties();
-        for (BeanPropertyDefinition property : properties) {
-            AnnotatedMember accessor = property.getAccessor();
-            if (accessor == null) {
-                continue;
-            }
-            Object rawValue = accessor.getValue(entity);
-            // TODO: Check if prop is collection
-
-            if (rawValue instanceof Entity) {
-                Entity subEntity = (Entity) rawValue;
-                if (subEntity.getId() != null) {
-                    // It's a referenced entity. -> <Entity>: { "@iot.id": <id> }
-                    gen.writeName(rawValue.getClass().getSimpleName());
-                    gen.writeStartObject();
-                    gen.writeName("@iot.id");
-                    try {
-                        ((Entity) rawValue).getId().writeTo(gen);
-                    } catch (IOException e) {
-                        throw new StreamWriteException(gen, e);
-                    }
-                    gen.writeEndObject();
-                } else {
-                    gen.writeName(rawValue.getClass().getSimpleName());
-                    serialize(subEntity, gen, serializers);
-                }
-            } else if (rawValue instanceof EntityList) {
-                EntityList entityList = (EntityList) rawValue;
-                if (entityList.isEmpty()) {
-                    continue;
-                }
-                // Ignore collections during serialization.
-                gen.writeName(entityList.getType().getName());
-                gen.writeStartArray();
-                for (Object sub : entityList) {
-                    if (sub instanceof Entity) {
-                        Entity subEntity = (Entity) sub;
-                        if (subEntity.getId() == null) {
-                            serialize(subEntity, gen, serializers);
-                        } else {
-                            gen.writeStartObject();
-                            gen.writeName("@iot.id");
-                            try {
-                                subEntity.getId().writeTo(gen);
-                            } catch (IOException e) {
-                                throw new StreamWriteException(gen, e);
-                            }
-                            gen.writeEndObject();
-                        }
+                case ENTITY:
+                    if (rawValue != null) {
+                        writeEntity((Entity) rawValue, gen, serializers);
+                    } else {
+                        writeValue(property, null, gen, serializers);
                     }
-                }
-                gen.writeEndArray();
-            } else {
-                JsonSerialize annotation = property.getAccessor().getAnnotation(JsonSerialize.class);
-                ValueSerializer serializer = null;
-                if (annotation != null) {
-                    try {
-                        Class<? extends ValueSerializer> using = annotation.using();
-                        serializer = using.getConstructor().newInstance();
-                    } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | SecurityException | IllegalArgumentException | InvocationTargetException ex) {
-                        LOGGER.warn("Could not instantiate serialiser specified in annotation.", ex);
+                    break;
+
+                case ENTITY_LIST:
+                    if (rawValue != null) {
+                        writeEntityList((EntityList) rawValue, gen, serializers);
+                    } else {
+                        writeValue(property, null, gen, serializers);
                     }
-                }
-                boolean suppressNulls = true;
-                JsonInclude includeAnnotation = property.getAccessor().getAnnotation(JsonInclude.class);
-                if (rawValue == null && includeAnnotation != null && includeAnnotation.value() == JsonInclude.Include.ALWAYS) {
-                    suppressNulls = false;
-                }
-                TypeSerializer typeSerializer = serializers.findTypeSerializer(serializers.constructType(property.getAccessor().getRawType()));
-                BeanPropertyWriter writer = new BeanPropertyWriter(
-                        property,
-                        property.getAccessor(),
-                        beanDesc.getClassAnnotations(),
-                        property.getAccessor().getType(),
-                        serializer,
-                        typeSerializer, // will not be searched automatically
-                        property.getAccessor().getType(),
-                        suppressNulls, // ignore null values
-                        null, null);
-                try {
-                    Object value = writer.get(entity);
-                    if (value != null || !suppressNulls) {
-                        serializers.defaultSerializeProperty(writer.getName(), value, gen);
+                    break;
+
+                default:
+                    if (rawValue instanceof Entity) {
+                        writeEntity((Entity) rawValue, gen, serializers);
+                    } else if (rawValue instanceof EntityList) {
+                        writeEntityList((EntityList) rawValue, gen, serializers);
+                    } else {
+                        writeValue(property, rawValue, gen, serializers);
                     }
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeEntity(Entity subEntity, JsonGenerator gen, SerializationContext serializers) throws JacksonException {
+        gen.writeName(subEntity.getClass().getSimpleName());
+        if (subEntity.getId() != null) {
+            // It's a referenced entity. -> <Entity>: { "@iot.id": <id> }
+            writeIdOnly(subEntity, gen);
+        } else {
+            serialize(subEntity, gen, serializers);
+        }
+    }
 
-                } catch (Exception e) {
-                    LOGGER.error("Failed to serialize entity.", e);
+    private void writeEntityList(EntityList entityList, JsonGenerator gen, SerializationContext serializers) throws JacksonException {
+        if (entityList.isEmpty()) {
+            return;
+        }
+        gen.writeName(entityList.getType().getName());
+        gen.writeStartArray();
+        for (Object sub : entityList) {
+            if (sub instanceof Entity) {
+                Entity subEntity = (Entity) sub;
+                if (subEntity.getId() == null) {
+                    serialize(subEntity, gen, serializers);
+                } else {
+                    writeIdOnly(subEntity, gen);
                 }
             }
         }
+        gen.writeEndArray();
+    }
 
+    private static void writeIdOnly(Entity subEntity, JsonGenerator gen) throws JacksonException {
+        gen.writeStartObject();
+        gen.writeName("@iot.id");
+        try {
+            subEntity.getId().writeTo(gen);
+        } catch (IOException e) {
+            throw new StreamWriteException(gen, e);
+        }
         gen.writeEndObject();
     }
 
+    private static void writeValue(PropertyPlan property, Object value, JsonGenerator gen, SerializationContext serializers) {
+        if (value == null && property.suppressNulls) {
+            return;
+        }
+        try {
+            serializers.defaultSerializeProperty(property.name, value, gen);
+        } catch (Exception e) {
+            LOGGER.error("Failed to serialize entity.", e);
+        }
+    }
+
 }
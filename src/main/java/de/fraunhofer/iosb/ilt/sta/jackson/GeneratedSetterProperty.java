@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.deser.SettableBeanProperty;
+import tools.jackson.databind.deser.impl.NullsConstantProvider;
+
+/**
+ * A bean property that sets its value through a generated setter function,
+ * instead of calling the setter Method reflectively. Everything else, like
+ * finding the value deserializer and handling nulls, is left to the wrapped
+ * property.
+ *
+ * @author scf
+ */
+class GeneratedSetterProperty extends SettableBeanProperty.Delegating {
+
+    private static final long serialVersionUID = 4169727314542581917L;
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratedSetterProperty.class);
+
+    private final transient BiConsumer<Object, Object> setter;
+
+    GeneratedSetterProperty(SettableBeanProperty delegate, BiConsumer<Object, Object> setter) {
+        super(delegate);
+        this.setter = setter;
+    }
+
+    /**
+     * Creates a function that sets the given property. Only public,
+     * non-static single-argument setters of public classes can be generated.
+     *
+     * @param member The setter of the property.
+     * @return A function that sets the property on a bean, or null if no
+     * function could be generated.
+     */
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> createSetter(Member member) {
+        if (!(member instanceof Method)
+                || !Modifier.isPublic(member.getModifiers())
+                || !Modifier.isPublic(member.getDeclaringClass().getModifiers())
+                || Modifier.isStatic(member.getModifiers())
+                || ((Method) member).getParameterCount() != 1) {
+            return null;
+        }
+        Method method = (Method) member;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle target = lookup.unreflect(method);
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    target,
+                    MethodType.methodType(void.class, method.getDeclaringClass(), target.type().wrap().parameterType(1)));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable ex) {
+            LOGGER.debug("Failed to generate setter for {}, using reflection.", method, ex);
+            return null;
+        }
+    }
+
+    @Override
+    protected SettableBeanProperty withDelegate(SettableBeanProperty d) {
+        return new GeneratedSetterProperty(d, setter);
+    }
+
+    @Override
+    public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws JacksonException {
+        Object value = deserialize(p, ctxt);
+        if (value == null && NullsConstantProvider.isSkipper(getNullValueProvider())) {
+            return;
+        }
+        try {
+            setter.accept(instance, value);
+        } catch (RuntimeException ex) {
+            _throwAsJacksonE(p, ex, value);
+        }
+    }
+
+    @Override
+    public void set(DeserializationContext ctxt, Object instance, Object value) throws JacksonException {
+        try {
+            setter.accept(instance, value);
+        } catch (RuntimeException ex) {
+            _throwAsJacksonE(null, ex, value);
+        }
+    }
+
+}
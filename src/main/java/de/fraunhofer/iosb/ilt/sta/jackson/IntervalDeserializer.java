@@ -22,9 +22,11 @@
  */
 package de.fraunhofer.iosb.ilt.sta.jackson;
 
+import de.fraunhofer.iosb.ilt.sta.model.IsoTimeParser;
 import org.threeten.extra.Interval;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.DeserializationContext;
 import tools.jackson.databind.deser.std.StdDeserializer;
 
@@ -49,6 +51,9 @@ public class IntervalDeserializer extends StdDeserializer<Interval> {
     @Override
     public Interval deserialize(JsonParser parser, DeserializationContext context)
             throws JacksonException {
-        return Interval.parse((context.readTree(parser)).asText());
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            return IsoTimeParser.parseInterval(parser.getString());
+        }
+        return IsoTimeParser.parseInterval(context.readTree(parser).asText());
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import de.fraunhofer.iosb.ilt.sta.model.ext.LazyValue;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.util.TokenBuffer;
+
+/**
+ * Deserializer for free-form values that can be decoded lazily. If the
+ * {@link LazyValue#ATTRIBUTE_LAZY_DECODING} attribute is set, the tokens of
+ * objects and arrays are buffered in a LazyValue. Scalar values, and all
+ * values when the attribute is not set, are decoded directly, like any untyped
+ * value, since buffering a single token costs as much as decoding it.
+ *
+ * @author scf
+ */
+public class LazyValueDeserializer extends StdDeserializer<Object> {
+
+    private static final long serialVersionUID = 2081553964383145307L;
+
+    private final ValueDeserializer<Object> eagerDeserializer;
+
+    public LazyValueDeserializer() {
+        this(null);
+    }
+
+    protected LazyValueDeserializer(ValueDeserializer<Object> eagerDeserializer) {
+        super(Object.class);
+        this.eagerDeserializer = eagerDeserializer;
+    }
+
+    @Override
+    public ValueDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JacksonException {
+        return withEagerDeserializer(ctxt.findContextualValueDeserializer(ctxt.constructType(Object.class), property));
+    }
+
+    /**
+     * Create a copy of this deserializer that uses the given deserializer for
+     * values that are decoded directly.
+     *
+     * @param eagerDeserializer The deserializer for directly decoded values.
+     * @return A copy of this deserializer.
+     */
+    protected LazyValueDeserializer withEagerDeserializer(ValueDeserializer<Object> eagerDeserializer) {
+        return new LazyValueDeserializer(eagerDeserializer);
+    }
+
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws JacksonException {
+        if (parser.currentToken().isStructStart() && Boolean.TRUE.equals(context.getAttribute(LazyValue.ATTRIBUTE_LAZY_DECODING))) {
+            TokenBuffer tokens = TokenBuffer.forBuffering(parser, context);
+            tokens.copyCurrentStructure(parser);
+            return new LazyValue(tokens);
+        }
+        if (eagerDeserializer == null) {
+            return context.readValue(parser, Object.class);
+        }
+        return eagerDeserializer.deserialize(parser, context);
+    }
+
+}
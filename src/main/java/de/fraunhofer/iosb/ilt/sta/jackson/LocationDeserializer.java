@@ -22,18 +22,45 @@
  */
 package de.fraunhofer.iosb.ilt.sta.jackson;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.geojson.Crs;
 import org.geojson.GeoJsonObject;
+import org.geojson.Geometry;
+import org.geojson.LineString;
+import org.geojson.LngLatAlt;
+import org.geojson.MultiLineString;
+import org.geojson.MultiPoint;
+import org.geojson.MultiPolygon;
+import org.geojson.Point;
+import org.geojson.Polygon;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.DeserializationContext;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
 import tools.jackson.databind.node.ValueNode;
+import tools.jackson.databind.util.TokenBuffer;
 
 /**
- * Deserializer for TimeObject instances.
+ * Deserializer for the location and feature properties of Locations and
+ * FeaturesOfInterest.
+ *
+ * Scalars are returned as-is. Simple GeoJSON geometries (Point, LineString,
+ * Polygon and their Multi- variants) that start with their "type" field are
+ * decoded from the token stream, without building a JsonNode tree first. Their
+ * coordinates are buffered as tokens, so that if they turn out not to be
+ * valid, the tree built from the buffer is the same as the input. Everything
+ * else is read into a tree, converted to a GeoJsonObject if possible, and
+ * returned as tree if not.
  */
 public class LocationDeserializer extends StdDeserializer<Object> {
 
@@ -43,21 +70,312 @@ public class LocationDeserializer extends StdDeserializer<Object> {
     private static final Logger LOGGER = LoggerFactory.getLogger(LocationDeserializer.class);
     private static final long serialVersionUID = 3674342381623629824L;
 
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_COORDINATES = "coordinates";
+    private static final String FIELD_CRS = "crs";
+    private static final String FIELD_BBOX = "bbox";
+    private static final double[] EMPTY = new double[0];
+
     public LocationDeserializer() {
         super(Object.class);
     }
 
     @Override
     public Object deserialize(JsonParser parser, DeserializationContext context) throws JacksonException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+            if (token == JsonToken.PROPERTY_NAME && FIELD_TYPE.equals(parser.currentName())) {
+                return deserializeTyped(parser, context);
+            }
+            if (token == JsonToken.END_OBJECT) {
+                return tryConvertTree(JsonNodeFactory.instance.objectNode(), context);
+            }
+        }
         JsonNode tree = context.readTree(parser);
         return tryConvertTree(tree, context);
     }
 
+    /**
+     * Continues deserialisation of an object, after its first field was found
+     * to be "type".
+     */
+    private static Object deserializeTyped(JsonParser parser, DeserializationContext context) {
+        parser.nextToken();
+        String type = parser.currentToken() == JsonToken.VALUE_STRING ? parser.getString() : null;
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(FIELD_TYPE, type == null ? context.readTree(parser) : type);
+        boolean simple = isSimpleGeometry(type);
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            if (simple && FIELD_COORDINATES.equals(name) && valueToken == JsonToken.START_ARRAY && !fields.containsKey(name)) {
+                fields.put(name, context.bufferAsCopyOfValue(parser));
+            } else {
+                simple = simple && (FIELD_CRS.equals(name) || FIELD_BBOX.equals(name));
+                fields.put(name, context.readTree(parser));
+            }
+        }
+        if (simple) {
+            GeoJsonObject geometry = toGeometry(type, fields, context);
+            if (geometry != null) {
+                return geometry;
+            }
+        }
+        ObjectNode tree = JsonNodeFactory.instance.objectNode();
+        for (Map.Entry<String, Object> entry : fields.entrySet()) {
+            tree.set(entry.getKey(), toNode(entry.getValue(), context));
+        }
+        return tryConvertTree(tree, context);
+    }
+
+    private static boolean isSimpleGeometry(String type) {
+        if (type == null) {
+            return false;
+        }
+        switch (type) {
+            case "Point":
+            case "MultiPoint":
+            case "LineString":
+            case "MultiLineString":
+            case "Polygon":
+            case "MultiPolygon":
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Reads the buffered coordinates of a simple geometry.
+     *
+     * @return The coordinates as described in
+     * {@link #readCoordinates(JsonParser)}, or null if they are not valid
+     * coordinates.
+     */
+    private static Object readCoordinates(TokenBuffer buffer, DeserializationContext context) {
+        try (JsonParser parser = buffer.asParserOnFirstToken(context)) {
+            return readCoordinates(parser);
+        }
+    }
+
+    /**
+     * Reads a (nested) coordinates array. Arrays containing only numbers are
+     * returned as double[], arrays containing only arrays as List. Anything
+     * else is not a valid coordinates array, and gives null.
+     */
+    private static Object readCoordinates(JsonParser parser) {
+        double[] numbers = null;
+        List<Object> arrays = null;
+        int count = 0;
+        JsonToken token = parser.nextToken();
+        while (token != JsonToken.END_ARRAY) {
+            if (token.isNumeric() && arrays == null) {
+                if (numbers == null) {
+                    numbers = new double[4];
+                } else if (count == numbers.length) {
+                    numbers = Arrays.copyOf(numbers, count * 2);
+                }
+                numbers[count++] = parser.getDoubleValue();
+            } else if (token == JsonToken.START_ARRAY && numbers == null) {
+                Object item = readCoordinates(parser);
+                if (item == null) {
+                    return null;
+                }
+                if (arrays == null) {
+                    arrays = new ArrayList<>();
+                }
+                arrays.add(item);
+            } else {
+                return null;
+            }
+            token = parser.nextToken();
+        }
+        if (arrays != null) {
+            return arrays;
+        }
+        if (count == 0) {
+            return EMPTY;
+        }
+        return count == numbers.length ? numbers : Arrays.copyOf(numbers, count);
+    }
+
+    private static GeoJsonObject toGeometry(String type, Map<String, Object> fields, DeserializationContext context) {
+        Object coordinates = fields.get(FIELD_COORDINATES);
+        if (coordinates != null) {
+            coordinates = readCoordinates((TokenBuffer) coordinates, context);
+            if (coordinates == null) {
+                return null;
+            }
+        }
+        GeoJsonObject geometry;
+        switch (type) {
+            case "Point":
+                Point point = new Point();
+                if (coordinates != null) {
+                    LngLatAlt position = toPosition(coordinates);
+                    if (position == null) {
+                        return null;
+                    }
+                    point.setCoordinates(position);
+                }
+                geometry = point;
+                break;
+
+            case "MultiPoint":
+                geometry = setCoordinates(new MultiPoint(), toPositions(coordinates), coordinates);
+                break;
+
+            case "LineString":
+                geometry = setCoordinates(new LineString(), toPositions(coordinates), coordinates);
+                break;
+
+            case "MultiLineString":
+                geometry = setCoordinates(new MultiLineString(), toPositionLists(coordinates), coordinates);
+                break;
+
+            case "Polygon":
+                geometry = setCoordinates(new Polygon(), toPositionLists(coordinates), coordinates);
+                break;
+
+            case "MultiPolygon":
+                geometry = setCoordinates(new MultiPolygon(), toPolygons(coordinates), coordinates);
+                break;
+
+            default:
+                return null;
+        }
+        if (geometry == null) {
+            return null;
+        }
+        try {
+            JsonNode crs = (JsonNode) fields.get(FIELD_CRS);
+            if (crs != null) {
+                geometry.setCrs(context.readTreeAsValue(crs, Crs.class));
+            }
+            JsonNode bbox = (JsonNode) fields.get(FIELD_BBOX);
+            if (bbox != null) {
+                geometry.setBbox(context.readTreeAsValue(bbox, double[].class));
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.debug("Failed to read crs or bbox of {}.", type);
+            return null;
+        }
+        return geometry;
+    }
+
+    private static <T> Geometry<T> setCoordinates(Geometry<T> geometry, List<T> coordinates, Object raw) {
+        if (raw == null) {
+            return geometry;
+        }
+        if (coordinates == null) {
+            return null;
+        }
+        geometry.setCoordinates(coordinates);
+        return geometry;
+    }
+
+    private static LngLatAlt toPosition(Object raw) {
+        if (!(raw instanceof double[])) {
+            return null;
+        }
+        double[] values = (double[]) raw;
+        switch (values.length) {
+            case 0:
+            case 1:
+                return null;
+
+            case 2:
+                return new LngLatAlt(values[0], values[1]);
+
+            case 3:
+                return new LngLatAlt(values[0], values[1], values[2]);
+
+            default:
+                return new LngLatAlt(values[0], values[1], values[2], Arrays.copyOfRange(values, 3, values.length));
+        }
+    }
+
+    private static List<LngLatAlt> toPositions(Object raw) {
+        if (raw == EMPTY) {
+            return new ArrayList<>();
+        }
+        if (!(raw instanceof List)) {
+            return null;
+        }
+        List<?> items = (List<?>) raw;
+        List<LngLatAlt> result = new ArrayList<>(items.size());
+        for (Object item : items) {
+            LngLatAlt position = toPosition(item);
+            if (position == null) {
+                return null;
+            }
+            result.add(position);
+        }
+        return result;
+    }
+
+    private static List<List<LngLatAlt>> toPositionLists(Object raw) {
+        if (raw == EMPTY) {
+            return new ArrayList<>();
+        }
+        if (!(raw instanceof List)) {
+            return null;
+        }
+        List<?> items = (List<?>) raw;
+        List<List<LngLatAlt>> result = new ArrayList<>(items.size());
+        for (Object item : items) {
+            List<LngLatAlt> positions = toPositions(item);
+            if (positions == null) {
+                return null;
+            }
+            result.add(positions);
+        }
+        return result;
+    }
+
+    private static List<List<List<LngLatAlt>>> toPolygons(Object raw) {
+        if (raw == EMPTY) {
+            return new ArrayList<>();
+        }
+        if (!(raw instanceof List)) {
+            return null;
+        }
+        List<?> items = (List<?>) raw;
+        List<List<List<LngLatAlt>>> result = new ArrayList<>(items.size());
+        for (Object item : items) {
+            List<List<LngLatAlt>> rings = toPositionLists(item);
+            if (rings == null) {
+                return null;
+            }
+            result.add(rings);
+        }
+        return result;
+    }
+
+    /**
+     * Turns a value collected by deserializeTyped back into a JsonNode.
+     * Buffered coordinates are read from their tokens, so the tree is the same
+     * as when it was read from the input directly.
+     */
+    private static JsonNode toNode(Object raw, DeserializationContext context) {
+        if (raw instanceof JsonNode) {
+            return (JsonNode) raw;
+        }
+        if (raw instanceof String) {
+            return JsonNodeFactory.instance.stringNode((String) raw);
+        }
+        try (JsonParser parser = ((TokenBuffer) raw).asParserOnFirstToken(context)) {
+            return context.readTree(parser);
+        }
+    }
+
     private static Object tryConvertTree(JsonNode tree, DeserializationContext parser) {
         if (tree.isValueNode()) {
             ValueNode value = (ValueNode) tree;
-            if (value.isTextual()) {
-                return value.asText();
+            if (value.isString()) {
+                return value.asString();
             }
             if (value.isNumber()) {
                 return value.numberValue();
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericDataArrayValue;
+import java.time.Instant;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Serializer for NumericDataArrayValue, writes the rows directly from the
+ * primitive arrays.
+ *
+ * @author scf
+ */
+public class NumericDataArrayValueSerializer extends ValueSerializer<NumericDataArrayValue> {
+
+    @Override
+    public void serialize(NumericDataArrayValue value, JsonGenerator gen, SerializationContext context) throws JacksonException {
+        gen.writeStartObject();
+        gen.writeName("Datastream");
+        context.writeValue(gen, value.getDatastream());
+        gen.writeName("components");
+        gen.writeStartArray();
+        for (String component : value.getComponents()) {
+            gen.writeString(component);
+        }
+        gen.writeEndArray();
+        gen.writeName("dataArray");
+        gen.writeStartArray();
+        final boolean integerResults = value.isIntegerResults();
+        final int size = value.size();
+        for (int row = 0; row < size; row++) {
+            gen.writeStartArray();
+            gen.writeString(Instant.ofEpochMilli(value.getPhenomenonTime(row)).toString());
+            if (integerResults) {
+                gen.writeNumber(value.getLongResult(row));
+            } else {
+                gen.writeNumber(value.getDoubleResult(row));
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+}
@@ -29,7 +29,10 @@ import de.fraunhofer.iosb.ilt.swe.common.complex.DataRecord;
 import de.fraunhofer.iosb.ilt.swe.common.constraint.AbstractConstraint;
 import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.cfg.MapperBuilder;
 import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
 /**
  * Factory for ObjectMapper instances. Keeps track of configuration.
@@ -40,6 +43,8 @@ import tools.jackson.databind.json.JsonMapper;
 public final class ObjectMapperFactory {
 
     private static ObjectMapper mapper;
+    private static ObjectMapper smileMapper;
+    private static ObjectMapper cborMapper;
 
     private ObjectMapperFactory() {
     }
@@ -52,19 +57,48 @@ public final class ObjectMapperFactory {
      */
     public static ObjectMapper get() {
         if (mapper == null) {
-            mapper = JsonMapper.builder()
-                    .addModule(new EntityModule())
-                    .addMixIn(DataRecord.class, DataRecordMixin.class)
-                    .addMixIn(AbstractDataComponent.class, AbstractDataComponentMixin.class)
-                    .addMixIn(AbstractSWEIdentifiable.class, AbstractSWEIdentifiableMixin.class)
-                    .addMixIn(AbstractConstraint.class, AbstractConstraintMixin.class)
-                    .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
-                    .changeDefaultPropertyInclusion(incl -> incl.withValueInclusion(JsonInclude.Include.NON_EMPTY))
-                    .changeDefaultPropertyInclusion(incl -> incl.withContentInclusion(JsonInclude.Include.NON_EMPTY))
-                    .build();
-
+            mapper = configure(JsonMapper.builder());
         }
         return mapper;
     }
 
+    /**
+     * Get a preconfigured, long living instance of {@link ObjectMapper} for
+     * the given format, with all custom modules needed.
+     *
+     * @param format The format to get the mapper for.
+     * @return the object mapper
+     */
+    public static ObjectMapper get(DataFormat format) {
+        switch (format) {
+            case SMILE:
+                if (smileMapper == null) {
+                    smileMapper = configure(SmileMapper.builder());
+                }
+                return smileMapper;
+
+            case CBOR:
+                if (cborMapper == null) {
+                    cborMapper = configure(CBORMapper.builder());
+                }
+                return cborMapper;
+
+            default:
+                return get();
+        }
+    }
+
+    private static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M configure(B builder) {
+        return builder
+                .addModule(new EntityModule())
+                .addMixIn(DataRecord.class, DataRecordMixin.class)
+                .addMixIn(AbstractDataComponent.class, AbstractDataComponentMixin.class)
+                .addMixIn(AbstractSWEIdentifiable.class, AbstractSWEIdentifiableMixin.class)
+                .addMixIn(AbstractConstraint.class, AbstractConstraintMixin.class)
+                .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .changeDefaultPropertyInclusion(incl -> incl.withValueInclusion(JsonInclude.Include.NON_EMPTY))
+                .changeDefaultPropertyInclusion(incl -> incl.withContentInclusion(JsonInclude.Include.NON_EMPTY))
+                .build();
+    }
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.jackson;
+
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericResult;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Deserializer for the result of Observations. If the
+ * {@link NumericResult#ATTRIBUTE_RESULT_TYPE} attribute is set, numeric
+ * results are read directly into a {@link NumericResult}, without creating a
+ * BigDecimal. All other results are handled like other lazy values.
+ *
+ * @author scf
+ */
+public class ResultDeserializer extends LazyValueDeserializer {
+
+    private static final long serialVersionUID = -4127036525011934217L;
+
+    public ResultDeserializer() {
+        super();
+    }
+
+    private ResultDeserializer(ValueDeserializer<Object> eagerDeserializer) {
+        super(eagerDeserializer);
+    }
+
+    @Override
+    protected LazyValueDeserializer withEagerDeserializer(ValueDeserializer<Object> eagerDeserializer) {
+        return new ResultDeserializer(eagerDeserializer);
+    }
+
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws JacksonException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT) {
+            final Object resultType = context.getAttribute(NumericResult.ATTRIBUTE_RESULT_TYPE);
+            if (resultType == NumericResult.Type.DOUBLE) {
+                return NumericResult.of(parser.getDoubleValue());
+            }
+            if (resultType == NumericResult.Type.LONG && token == JsonToken.VALUE_NUMBER_INT) {
+                return NumericResult.of(parser.getLongValue());
+            }
+        }
+        return super.deserialize(parser, context);
+    }
+
+}
@@ -27,6 +27,7 @@ import java.io.Serializable;
 import org.threeten.extra.Interval;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.DeserializationContext;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.deser.std.StdDeserializer;
@@ -45,6 +46,9 @@ public class TimeObjectDeserializer extends StdDeserializer<TimeObject> implemen
     @Override
     public TimeObject deserialize(JsonParser parser, DeserializationContext context)
             throws JacksonException {
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            return TimeObject.parse(parser.getString());
+        }
         return TimeObject.parse(((JsonNode) parser.objectReadContext().readTree(parser)).asText());
     }
 }
@@ -23,10 +23,29 @@
 package de.fraunhofer.iosb.ilt.sta.jackson.customtyping;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import de.fraunhofer.iosb.ilt.swe.common.AbstractDataComponent;
 import de.fraunhofer.iosb.ilt.swe.common.AbstractSWEIdentifiable;
+import de.fraunhofer.iosb.ilt.swe.common.complex.DataRecord;
 import de.fraunhofer.iosb.ilt.swe.common.constraint.AbstractConstraint;
+import de.fraunhofer.iosb.ilt.swe.common.constraint.AllowedTimes;
+import de.fraunhofer.iosb.ilt.swe.common.constraint.AllowedTokens;
+import de.fraunhofer.iosb.ilt.swe.common.constraint.AllowedValues;
+import de.fraunhofer.iosb.ilt.swe.common.simple.AbstractSimpleComponent;
+import de.fraunhofer.iosb.ilt.swe.common.simple.Category;
+import de.fraunhofer.iosb.ilt.swe.common.simple.Count;
+import de.fraunhofer.iosb.ilt.swe.common.simple.Quantity;
+import de.fraunhofer.iosb.ilt.swe.common.simple.SweBoolean;
+import de.fraunhofer.iosb.ilt.swe.common.simple.Text;
+import de.fraunhofer.iosb.ilt.swe.common.simple.Time;
+import de.fraunhofer.iosb.ilt.swe.common.simple.range.CategoryRange;
+import de.fraunhofer.iosb.ilt.swe.common.simple.range.CountRange;
+import de.fraunhofer.iosb.ilt.swe.common.simple.range.QuantityRange;
+import de.fraunhofer.iosb.ilt.swe.common.simple.range.TimeRange;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.reflections.Reflections;
 import org.slf4j.LoggerFactory;
@@ -36,6 +55,12 @@ import tools.jackson.databind.JavaType;
 import tools.jackson.databind.jsontype.TypeIdResolver;
 
 /**
+ * Resolves the type ids of SWE Common classes. The known classes are listed
+ * in a static index, so no classpath scanning is needed at startup. Classes
+ * that are not in the index can be added with {@link #registerType(Class)},
+ * or by scanning the classpath with {@link #registerTypesFromClasspath()}.
+ * Setting the system property {@value #PROPERTY_SCAN_CLASSPATH} to true
+ * scans the classpath when this class is loaded.
  *
  * @author Michael Jacoby
  */
@@ -43,27 +68,85 @@ public class SweTypeIdResolver implements TypeIdResolver {
 
     private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(SweTypeIdResolver.class.getName());
 
-    private static final Map<String, Class<?>> annnotatedClasses;
+    /**
+     * The system property that enables classpath scanning when this class is
+     * loaded.
+     */
+    public static final String PROPERTY_SCAN_CLASSPATH = "de.fraunhofer.iosb.ilt.sta.swe.scanClasspath";
+
+    /**
+     * The SWE Common classes that are known without scanning. Must contain
+     * all subtypes of AbstractSWEIdentifiable and AbstractConstraint in the
+     * SWE Common library.
+     */
+    private static final List<Class<?>> INDEXED_TYPES = Arrays.asList(
+            AbstractDataComponent.class,
+            AbstractSimpleComponent.class,
+            Category.class,
+            CategoryRange.class,
+            Count.class,
+            CountRange.class,
+            DataRecord.class,
+            Quantity.class,
+            QuantityRange.class,
+            SweBoolean.class,
+            Text.class,
+            Time.class,
+            TimeRange.class,
+            AllowedTimes.class,
+            AllowedTokens.class,
+            AllowedValues.class);
+
+    private static final ClassValue<String> TYPE_IDS = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return findIdForClass(type);
+        }
+    };
+
+    private static final Map<String, Class<?>> annnotatedClasses = new ConcurrentHashMap<>();
 
     static {
-        final Reflections reflections = new Reflections("de.fraunhofer.iosb.ilt.swe.common");
-        annnotatedClasses = reflections
-                .getSubTypesOf(AbstractSWEIdentifiable.class)
-                .stream()
-                .collect(Collectors.toMap(
-                        x -> idFromClass(x),
-                        x -> x));
-        annnotatedClasses.putAll(
-                reflections
-                        .getSubTypesOf(AbstractConstraint.class)
-                        .stream()
-                        .collect(Collectors.toMap(
-                                x -> idFromClass(x),
-                                x -> x)));
+        for (Class<?> type : INDEXED_TYPES) {
+            registerType(type);
+        }
+        if (Boolean.getBoolean(PROPERTY_SCAN_CLASSPATH)) {
+            registerTypesFromClasspath();
+        }
     }
 
     private JavaType superType;
 
+    /**
+     * Register a SWE Common class that is not in the static index.
+     *
+     * @param type The class to register.
+     */
+    public static void registerType(Class<?> type) {
+        annnotatedClasses.put(idFromClass(type), type);
+    }
+
+    /**
+     * Scan the SWE Common package on the classpath, and register all
+     * subclasses of AbstractSWEIdentifiable and AbstractConstraint. Only
+     * needed when a SWE Common library with classes that are not in the static
+     * index is used.
+     */
+    public static void registerTypesFromClasspath() {
+        final Reflections reflections = new Reflections("de.fraunhofer.iosb.ilt.swe.common");
+        reflections.getSubTypesOf(AbstractSWEIdentifiable.class).forEach(SweTypeIdResolver::registerType);
+        reflections.getSubTypesOf(AbstractConstraint.class).forEach(SweTypeIdResolver::registerType);
+    }
+
+    /**
+     * The type ids of all registered classes.
+     *
+     * @return The registered classes, by type id.
+     */
+    public static Map<String, Class<?>> getRegisteredTypes() {
+        return Collections.unmodifiableMap(annnotatedClasses);
+    }
+
     @Override
     public void init(JavaType baseType) {
         superType = baseType;
@@ -75,6 +158,10 @@ public class SweTypeIdResolver implements TypeIdResolver {
     }
 
     public static String idFromClass(Class clazz) {
+        return TYPE_IDS.get(clazz);
+    }
+
+    private static String findIdForClass(Class<?> clazz) {
         final String className = clazz.getName();
         String name = className.substring(1 + className.lastIndexOf('.'));
         try {
@@ -98,10 +185,11 @@ public class SweTypeIdResolver implements TypeIdResolver {
 
     @Override
     public JavaType typeFromId(DatabindContext context, String id) throws JacksonException {
-        if (!annnotatedClasses.containsKey(id)) {
+        final Class<?> type = annnotatedClasses.get(id);
+        if (type == null) {
             throw new RuntimeException(String.format("unkown type '%s'", id));
         }
-        return context.constructSpecializedType(superType, annnotatedClasses.get(id));
+        return context.constructSpecializedType(superType, type);
     }
 
     @Override
@@ -86,6 +86,40 @@ public class Datastream extends Entity<Datastream> {
         }
     }
 
+    @Override
+    public Entity<?> getRelationIfLoaded(EntityType relation) {
+        switch (relation) {
+            case THING:
+                return thing;
+            case SENSOR:
+                return sensor;
+            case OBSERVED_PROPERTY:
+                return observedProperty;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void setRelation(EntityType relation, Entity<?> related) {
+        switch (relation) {
+            case THING:
+                setThing((Thing) related);
+                break;
+
+            case SENSOR:
+                setSensor((Sensor) related);
+                break;
+
+            case OBSERVED_PROPERTY:
+                setObservedProperty((ObservedProperty) related);
+                break;
+
+            default:
+                super.setRelation(relation, related);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
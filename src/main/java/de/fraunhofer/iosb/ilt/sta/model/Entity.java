@@ -202,6 +202,32 @@ public abstract class Entity<T extends Entity<T>> {
 
     protected abstract void ensureServiceOnChildren(SensorThingsService service);
 
+    /**
+     * Get the related entity of the given singular relation, like the Thing of
+     * a Datastream, if it is set. Unlike the getters of the relations, this
+     * never fetches the related entity from the service.
+     *
+     * @param relation The singular relation to get.
+     * @return The related entity, or null if it is not set, or if this entity
+     * does not have the given singular relation.
+     */
+    public Entity<?> getRelationIfLoaded(EntityType relation) {
+        return null;
+    }
+
+    /**
+     * Set the related entity of the given singular relation, like the Thing
+     * of a Datastream.
+     *
+     * @param relation The singular relation to set.
+     * @param related The related entity, of the type of the relation.
+     * @throws IllegalArgumentException If this entity does not have the given
+     * singular relation.
+     */
+    public void setRelation(EntityType relation, Entity<?> related) {
+        throw new IllegalArgumentException(type + " has no singular relation " + relation);
+    }
+
     public SensorThingsService getService() {
         return service;
     }
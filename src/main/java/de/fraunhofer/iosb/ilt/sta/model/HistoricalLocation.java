@@ -58,6 +58,28 @@ public class HistoricalLocation extends Entity<HistoricalLocation> {
         locations.setService(service, Location.class);
     }
 
+    @Override
+    public Entity<?> getRelationIfLoaded(EntityType relation) {
+        switch (relation) {
+            case THING:
+                return thing;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void setRelation(EntityType relation, Entity<?> related) {
+        switch (relation) {
+            case THING:
+                setThing((Thing) related);
+                break;
+
+            default:
+                super.setRelation(relation, related);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
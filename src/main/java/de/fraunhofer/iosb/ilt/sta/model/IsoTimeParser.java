@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.model;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.threeten.extra.Interval;
+
+/**
+ * A fast parser for the common forms of ISO-8601 date-times and intervals, as
+ * sent by SensorThings services: {@code 2024-01-31T12:34:56.789Z} and
+ * {@code 2024-01-31T12:34:56+01:00}, and intervals of two of those, separated
+ * by a {@code /}. The parser does not use exceptions for control flow: for
+ * input it does not understand it returns null, and the caller falls back to
+ * the full java.time parsers.
+ *
+ * @author scf
+ */
+public final class IsoTimeParser {
+
+    private static final int[] NANO_FACTORS = {
+        100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1
+    };
+
+    private IsoTimeParser() {
+        // Utility class.
+    }
+
+    /**
+     * Parse the given string as an instant or an interval. Intervals are
+     * detected by the {@code /} separator. A date-time with a zone id, like
+     * {@code [Europe/Berlin]}, is not an interval.
+     *
+     * @param value The string to parse.
+     * @return The parsed TimeObject.
+     * @throws java.time.format.DateTimeParseException if the value can not be
+     * parsed.
+     */
+    public static TimeObject parseTimeObject(String value) {
+        final int slash = value.indexOf('/');
+        if (slash < 0 || value.indexOf('[') >= 0) {
+            return new TimeObject(parseDateTime(value));
+        }
+        return new TimeObject(parseInterval(value, slash));
+    }
+
+    /**
+     * Parse the given string as a date-time, with an offset or zone.
+     *
+     * @param value The string to parse.
+     * @return The parsed date-time.
+     * @throws java.time.format.DateTimeParseException if the value can not be
+     * parsed.
+     */
+    public static ZonedDateTime parseDateTime(String value) {
+        final ZonedDateTime fast = parseDateTime(value, 0, value.length());
+        if (fast != null) {
+            return fast;
+        }
+        return ZonedDateTime.parse(value);
+    }
+
+    /**
+     * Parse the given string as an interval.
+     *
+     * @param value The string to parse.
+     * @return The parsed interval.
+     * @throws java.time.format.DateTimeParseException if the value can not be
+     * parsed.
+     */
+    public static Interval parseInterval(String value) {
+        return parseInterval(value, value.indexOf('/'));
+    }
+
+    private static Interval parseInterval(String value, int slash) {
+        if (slash > 0) {
+            final ZonedDateTime start = parseDateTime(value, 0, slash);
+            final ZonedDateTime end = start == null ? null : parseDateTime(value, slash + 1, value.length());
+            if (end != null && !end.toInstant().isBefore(start.toInstant())) {
+                return Interval.of(start.toInstant(), end.toInstant());
+            }
+        }
+        return Interval.parse(value);
+    }
+
+    /**
+     * Parses the date-time in the given range of the string, in the form
+     * {@code yyyy-MM-ddTHH:mm[:ss[.fffffffff]](Z|+HH:mm|-HH:mm)}.
+     *
+     * @param value The string to parse.
+     * @param start The start of the range, inclusive.
+     * @param end The end of the range, exclusive.
+     * @return The parsed date-time, or null if the range does not hold a
+     * date-time in the supported form.
+     */
+    public static ZonedDateTime parseDateTime(String value, int start, int end) {
+        // Shortest form: yyyy-MM-ddTHH:mmZ
+        if (end - start < 17) {
+            return null;
+        }
+        int pos = start;
+        final int year = parseDigits(value, pos, 4);
+        if (year < 0 || value.charAt(pos + 4) != '-') {
+            return null;
+        }
+        pos += 5;
+        final int month = parseDigits(value, pos, 2);
+        if (month < 1 || month > 12 || value.charAt(pos + 2) != '-') {
+            return null;
+        }
+        pos += 3;
+        final int day = parseDigits(value, pos, 2);
+        if (day < 1 || day > Month.of(month).length(isLeapYear(year)) || value.charAt(pos + 2) != 'T') {
+            return null;
+        }
+        pos += 3;
+        final int hour = parseDigits(value, pos, 2);
+        if (hour < 0 || hour > 23 || value.charAt(pos + 2) != ':') {
+            return null;
+        }
+        pos += 3;
+        final int minute = parseDigits(value, pos, 2);
+        if (minute < 0 || minute > 59) {
+            return null;
+        }
+        pos += 2;
+        int second = 0;
+        int nano = 0;
+        if (pos < end && value.charAt(pos) == ':') {
+            if (pos + 3 > end) {
+                return null;
+            }
+            second = parseDigits(value, pos + 1, 2);
+            if (second < 0 || second > 59) {
+                return null;
+            }
+            pos += 3;
+            if (pos < end && value.charAt(pos) == '.') {
+                pos++;
+                int digits = 0;
+                while (pos < end && digits < 9) {
+                    final int digit = value.charAt(pos) - '0';
+                    if (digit < 0 || digit > 9) {
+                        break;
+                    }
+                    nano += digit * NANO_FACTORS[digits];
+                    digits++;
+                    pos++;
+                }
+                if (digits == 0) {
+                    return null;
+                }
+            }
+        }
+        final ZoneOffset offset = parseOffset(value, pos, end);
+        if (offset == null) {
+            return null;
+        }
+        return ZonedDateTime.of(LocalDateTime.of(year, month, day, hour, minute, second, nano), offset);
+    }
+
+    private static ZoneOffset parseOffset(String value, int pos, int end) {
+        if (pos >= end) {
+            return null;
+        }
+        final char sign = value.charAt(pos);
+        if (sign == 'Z') {
+            return pos + 1 == end ? ZoneOffset.UTC : null;
+        }
+        if ((sign != '+' && sign != '-') || end - pos != 6 || value.charAt(pos + 3) != ':') {
+            return null;
+        }
+        final int hours = parseDigits(value, pos + 1, 2);
+        final int minutes = parseDigits(value, pos + 4, 2);
+        if (hours < 0 || hours > 17 || minutes < 0 || minutes > 59) {
+            return null;
+        }
+        final int seconds = hours * 3600 + minutes * 60;
+        return ZoneOffset.ofTotalSeconds(sign == '-' ? -seconds : seconds);
+    }
+
+    private static int parseDigits(String value, int pos, int count) {
+        int result = 0;
+        for (int i = pos; i < pos + count; i++) {
+            final int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
@@ -85,6 +85,34 @@ public class MultiDatastream extends Entity<MultiDatastream> {
         observations.setService(service, Observation.class);
     }
 
+    @Override
+    public Entity<?> getRelationIfLoaded(EntityType relation) {
+        switch (relation) {
+            case THING:
+                return thing;
+            case SENSOR:
+                return sensor;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void setRelation(EntityType relation, Entity<?> related) {
+        switch (relation) {
+            case THING:
+                setThing((Thing) related);
+                break;
+
+            case SENSOR:
+                setSensor((Sensor) related);
+                break;
+
+            default:
+                super.setRelation(relation, related);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
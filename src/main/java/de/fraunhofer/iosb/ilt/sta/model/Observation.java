@@ -29,6 +29,10 @@ import de.fraunhofer.iosb.ilt.sta.NotFoundException;
 import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
 import de.fraunhofer.iosb.ilt.sta.dao.BaseDao;
 import de.fraunhofer.iosb.ilt.sta.dao.ObservationDao;
+import de.fraunhofer.iosb.ilt.sta.jackson.LazyValueDeserializer;
+import de.fraunhofer.iosb.ilt.sta.jackson.ResultDeserializer;
+import de.fraunhofer.iosb.ilt.sta.model.ext.LazyValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericResult;
 import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
 import java.time.ZonedDateTime;
 import java.util.Map;
@@ -36,6 +40,7 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.threeten.extra.Interval;
+import tools.jackson.databind.annotation.JsonDeserialize;
 
 public class Observation extends Entity<Observation> {
 
@@ -46,12 +51,24 @@ public class Observation extends Entity<Observation> {
 
     private TimeObject phenomenonTime;
 
+    /**
+     * The result, a LazyValue holding the not yet decoded result, or a
+     * NumericResult holding a primitive result.
+     */
     @JsonInclude(JsonInclude.Include.ALWAYS)
     private Object result;
     private ZonedDateTime resultTime;
-    private Object resultQuality; //DQ_Element
+    /**
+     * The resultQuality (DQ_Element), or a LazyValue holding the not yet
+     * decoded resultQuality.
+     */
+    private Object resultQuality;
     private Interval validTime;
     private Map<String, Object> parameters;
+    /**
+     * The not yet decoded parameters, if they were read lazily.
+     */
+    private LazyValue lazyParameters;
 
     @JsonProperty("Datastream")
     private Datastream datastream;
@@ -110,6 +127,40 @@ public class Observation extends Entity<Observation> {
         }
     }
 
+    @Override
+    public Entity<?> getRelationIfLoaded(EntityType relation) {
+        switch (relation) {
+            case DATASTREAM:
+                return datastream;
+            case MULTIDATASTREAM:
+                return multiDatastream;
+            case FEATURE_OF_INTEREST:
+                return featureOfInterest;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void setRelation(EntityType relation, Entity<?> related) {
+        switch (relation) {
+            case DATASTREAM:
+                setDatastream((Datastream) related);
+                break;
+
+            case MULTIDATASTREAM:
+                setMultiDatastream((MultiDatastream) related);
+                break;
+
+            case FEATURE_OF_INTEREST:
+                setFeatureOfInterest((FeatureOfInterest) related);
+                break;
+
+            default:
+                super.setRelation(relation, related);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -125,19 +176,19 @@ public class Observation extends Entity<Observation> {
         if (!Objects.equals(this.phenomenonTime, other.phenomenonTime)) {
             return false;
         }
-        if (!Objects.equals(this.result, other.result)) {
+        if (!Objects.equals(this.getResult(), other.getResult())) {
             return false;
         }
         if (!Objects.equals(this.resultTime, other.resultTime)) {
             return false;
         }
-        if (!Objects.equals(this.resultQuality, other.resultQuality)) {
+        if (!Objects.equals(this.getResultQuality(), other.getResultQuality())) {
             return false;
         }
         if (!Objects.equals(this.validTime, other.validTime)) {
             return false;
         }
-        if (!Objects.equals(this.parameters, other.parameters)) {
+        if (!Objects.equals(this.getParameters(), other.getParameters())) {
             return false;
         }
         return super.equals(obj);
@@ -147,11 +198,11 @@ public class Observation extends Entity<Observation> {
     public int hashCode() {
         int hash = super.hashCode();
         hash = 89 * hash + Objects.hashCode(this.phenomenonTime);
-        hash = 89 * hash + Objects.hashCode(this.result);
+        hash = 89 * hash + Objects.hashCode(this.getResult());
         hash = 89 * hash + Objects.hashCode(this.resultTime);
-        hash = 89 * hash + Objects.hashCode(this.resultQuality);
+        hash = 89 * hash + Objects.hashCode(this.getResultQuality());
         hash = 89 * hash + Objects.hashCode(this.validTime);
-        hash = 89 * hash + Objects.hashCode(this.parameters);
+        hash = 89 * hash + Objects.hashCode(this.getParameters());
         return hash;
     }
 
@@ -173,10 +224,74 @@ public class Observation extends Entity<Observation> {
         this.phenomenonTime = phenomenonTime;
     }
 
+    /**
+     * The result of the Observation. If the result was read lazily, it is
+     * decoded on the first call. If the result was read as a primitive, it is
+     * returned as a Double or Long.
+     *
+     * @return The result.
+     */
+    @JsonIgnore
     public Object getResult() {
+        if (result instanceof LazyValue) {
+            result = ((LazyValue) result).decode(Object.class);
+        }
+        if (result instanceof NumericResult) {
+            return ((NumericResult) result).toNumber();
+        }
         return this.result;
     }
 
+    /**
+     * The result of the Observation as a double. If the result was read as a
+     * primitive, no boxing takes place.
+     *
+     * @return The result as a double.
+     * @throws IllegalStateException If the result is not a number.
+     */
+    @JsonIgnore
+    public double getResultAsDouble() {
+        if (result instanceof NumericResult) {
+            return ((NumericResult) result).doubleValue();
+        }
+        return requireNumericResult().doubleValue();
+    }
+
+    /**
+     * The result of the Observation as a long. If the result was read as a
+     * primitive, no boxing takes place. Fractional results are truncated.
+     *
+     * @return The result as a long.
+     * @throws IllegalStateException If the result is not a number.
+     */
+    @JsonIgnore
+    public long getResultAsLong() {
+        if (result instanceof NumericResult) {
+            return ((NumericResult) result).longValue();
+        }
+        return requireNumericResult().longValue();
+    }
+
+    private Number requireNumericResult() {
+        final Object value = getResult();
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        throw new IllegalStateException("Result is not a number: " + value);
+    }
+
+    /**
+     * The result as it is written to JSON: a LazyValue if the result was read
+     * lazily and not accessed since, or a NumericResult if the result was read
+     * as a primitive.
+     */
+    @JsonProperty("result")
+    @JsonInclude(JsonInclude.Include.ALWAYS)
+    private Object getResultForJson() {
+        return this.result;
+    }
+
+    @JsonDeserialize(using = ResultDeserializer.class)
     public void setResult(Object result) {
         this.result = result;
         resultSet = true;
@@ -195,10 +310,26 @@ public class Observation extends Entity<Observation> {
         this.resultTime = resultTime;
     }
 
+    /**
+     * The resultQuality of the Observation. If the resultQuality was read
+     * lazily, it is decoded on the first call.
+     *
+     * @return The resultQuality.
+     */
+    @JsonIgnore
     public Object getResultQuality() {
+        if (resultQuality instanceof LazyValue) {
+            resultQuality = ((LazyValue) resultQuality).decode(Object.class);
+        }
+        return this.resultQuality;
+    }
+
+    @JsonProperty("resultQuality")
+    private Object getResultQualityForJson() {
         return this.resultQuality;
     }
 
+    @JsonDeserialize(using = LazyValueDeserializer.class)
     public void setResultQuality(Object resultQuality) {
         this.resultQuality = resultQuality;
     }
@@ -211,12 +342,46 @@ public class Observation extends Entity<Observation> {
         this.validTime = validTime;
     }
 
+    /**
+     * The parameters of the Observation. If the parameters were read lazily,
+     * they are decoded on the first call.
+     *
+     * @return The parameters.
+     */
+    @JsonIgnore
+    @SuppressWarnings("unchecked")
     public Map<String, Object> getParameters() {
+        if (lazyParameters != null) {
+            parameters = lazyParameters.decode(Map.class);
+            lazyParameters = null;
+        }
         return this.parameters;
     }
 
+    @JsonProperty("parameters")
+    private Object getParametersForJson() {
+        if (lazyParameters != null) {
+            return lazyParameters;
+        }
+        return this.parameters;
+    }
+
+    @JsonIgnore
     public void setParameters(Map<String, Object> parameters) {
         this.parameters = parameters;
+        this.lazyParameters = null;
+    }
+
+    @JsonProperty("parameters")
+    @JsonDeserialize(using = LazyValueDeserializer.class)
+    @SuppressWarnings("unchecked")
+    private void setParametersFromJson(Object parameters) {
+        if (parameters instanceof LazyValue) {
+            this.parameters = null;
+            this.lazyParameters = (LazyValue) parameters;
+        } else {
+            setParameters((Map<String, Object>) parameters);
+        }
     }
 
     public Datastream getDatastream() throws ServiceFailureException {
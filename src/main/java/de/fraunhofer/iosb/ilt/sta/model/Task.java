@@ -62,6 +62,28 @@ public class Task extends Entity<Task> {
         }
     }
 
+    @Override
+    public Entity<?> getRelationIfLoaded(EntityType relation) {
+        switch (relation) {
+            case TASKING_CAPABILITY:
+                return taskingCapability;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void setRelation(EntityType relation, Entity<?> related) {
+        switch (relation) {
+            case TASKING_CAPABILITY:
+                setTaskingCapability((TaskingCapability) related);
+                break;
+
+            default:
+                super.setRelation(relation, related);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
@@ -69,6 +69,34 @@ public class TaskingCapability extends Entity<TaskingCapability> {
         }
     }
 
+    @Override
+    public Entity<?> getRelationIfLoaded(EntityType relation) {
+        switch (relation) {
+            case THING:
+                return thing;
+            case ACTUATOR:
+                return actuator;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void setRelation(EntityType relation, Entity<?> related) {
+        switch (relation) {
+            case THING:
+                setThing((Thing) related);
+                break;
+
+            case ACTUATOR:
+                setActuator((Actuator) related);
+                break;
+
+            default:
+                super.setRelation(relation, related);
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
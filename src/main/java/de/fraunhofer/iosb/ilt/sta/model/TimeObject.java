@@ -24,7 +24,6 @@ package de.fraunhofer.iosb.ilt.sta.model;
 
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.Objects;
 import org.threeten.extra.Interval;
 
@@ -105,14 +104,15 @@ public class TimeObject {
         return valueDateTime.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
     }
 
+    /**
+     * Parse the given ISO-8601 date-time or interval.
+     *
+     * @param value The string to parse.
+     * @return The parsed TimeObject.
+     * @throws java.time.format.DateTimeParseException if the value can not be
+     * parsed.
+     */
     public static TimeObject parse(String value) {
-        try {
-            ZonedDateTime dt = ZonedDateTime.parse(value);
-            return new TimeObject(dt);
-        } catch (DateTimeParseException e) {
-            // Not a DateTime
-        }
-        Interval i = Interval.parse(value);
-        return new TimeObject(i);
+        return IsoTimeParser.parseTimeObject(value);
     }
 }
@@ -0,0 +1,357 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.model.ext;
+
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A DataArrayValue read from the service with $resultFormat=dataArray. The
+ * rows are stored by column: columns that only hold integers are stored in
+ * primitive arrays of longs, columns that only hold floating point numbers in
+ * primitive arrays of doubles, other columns as objects. Floating point
+ * numbers are only read as doubles if USE_BIG_DECIMAL_FOR_FLOATS is disabled
+ * on the mapper; the mappers of this library read them as BigDecimal, so that
+ * no precision is lost. Use {@link #getColumn(String)} to access the values.
+ * {@link #getDataArray()} builds the rows as lists of objects, for
+ * compatibility.
+ *
+ * A ColumnarDataArrayValue is read-only, Observations can not be added.
+ *
+ * @author scf
+ */
+public class ColumnarDataArrayValue extends DataArrayValue {
+
+    /**
+     * The deserialisation attribute that, when set to Boolean.TRUE, makes
+     * DataArrayValues decode into ColumnarDataArrayValues. Set by the reader of
+     * {@link DataArrayDocument#read}.
+     */
+    public static final String ATTRIBUTE_COLUMNAR = ColumnarDataArrayValue.class.getName() + ".columnar";
+
+    /**
+     * A column of a ColumnarDataArrayValue. Values are stored as longs while
+     * they are all integers, as doubles while they are all floating point
+     * numbers, and as objects as soon as integers and floating point numbers
+     * are mixed, or a value is not a number, or null. This way each value
+     * keeps the type it was read with.
+     */
+    public static final class Column {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] longs = new long[INITIAL_CAPACITY];
+        private double[] doubles;
+        private Object[] values;
+        private int size;
+
+        /**
+         * Add an integer value.
+         *
+         * @param value The value to add.
+         */
+        public void addLong(long value) {
+            if (longs != null) {
+                if (size == longs.length) {
+                    longs = Arrays.copyOf(longs, size * 2);
+                }
+                longs[size++] = value;
+            } else {
+                addValue(value);
+            }
+        }
+
+        /**
+         * Add a floating point value. If the column held integers so far, it
+         * is converted to objects.
+         *
+         * @param value The value to add.
+         */
+        public void addDouble(double value) {
+            if (longs != null && size == 0) {
+                doubles = new double[longs.length];
+                longs = null;
+            }
+            if (doubles == null) {
+                addValue(value);
+                return;
+            }
+            if (size == doubles.length) {
+                doubles = Arrays.copyOf(doubles, size * 2);
+            }
+            doubles[size++] = value;
+        }
+
+        /**
+         * Add a value. If the column held numbers so far, it is converted to
+         * objects.
+         *
+         * @param value The value to add, can be null.
+         */
+        public void addValue(Object value) {
+            if (values == null) {
+                final Object[] converted = new Object[Math.max(INITIAL_CAPACITY, size * 2)];
+                for (int row = 0; row < size; row++) {
+                    converted[row] = getValue(row);
+                }
+                values = converted;
+                longs = null;
+                doubles = null;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * @return The number of values in this column.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return true if all values in this column are numbers, stored in a
+         * primitive array.
+         */
+        public boolean isNumeric() {
+            return values == null;
+        }
+
+        /**
+         * @return true if all values in this column are integers, stored as
+         * longs.
+         */
+        public boolean isIntegral() {
+            return longs != null;
+        }
+
+        /**
+         * Get the value of the given row as long. Throws ClassCastException if
+         * the value is not a number.
+         *
+         * @param row The row to get the value of.
+         * @return The value as long.
+         */
+        public long getLong(int row) {
+            Objects.checkIndex(row, size);
+            if (longs != null) {
+                return longs[row];
+            }
+            if (doubles != null) {
+                return (long) doubles[row];
+            }
+            return ((Number) values[row]).longValue();
+        }
+
+        /**
+         * Get the value of the given row as double. Throws ClassCastException
+         * if the value is not a number.
+         *
+         * @param row The row to get the value of.
+         * @return The value as double.
+         */
+        public double getDouble(int row) {
+            Objects.checkIndex(row, size);
+            if (longs != null) {
+                return longs[row];
+            }
+            if (doubles != null) {
+                return doubles[row];
+            }
+            return ((Number) values[row]).doubleValue();
+        }
+
+        /**
+         * Get the value of the given row. Numbers are boxed.
+         *
+         * @param row The row to get the value of.
+         * @return The value.
+         */
+        public Object getValue(int row) {
+            Objects.checkIndex(row, size);
+            if (longs != null) {
+                return longs[row];
+            }
+            if (doubles != null) {
+                return doubles[row];
+            }
+            return values[row];
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 3;
+            for (int row = 0; row < size; row++) {
+                hash = 41 * hash + Objects.hashCode(getValue(row));
+            }
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Column other = (Column) obj;
+            if (size != other.size) {
+                return false;
+            }
+            for (int row = 0; row < size; row++) {
+                if (!Objects.equals(getValue(row), other.getValue(row))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final List<String> components;
+    private final List<Column> columns;
+    private final int size;
+
+    /**
+     * Create a ColumnarDataArrayValue.
+     *
+     * @param components The names of the columns.
+     * @param columns The columns, each holding size values.
+     * @param size The number of rows.
+     */
+    public ColumnarDataArrayValue(List<String> components, List<Column> columns, int size) {
+        for (Column column : columns) {
+            if (column.size() != size) {
+                throw new IllegalArgumentException("All columns must have " + size + " values, found " + column.size());
+            }
+        }
+        this.components = Collections.unmodifiableList(new ArrayList<>(components));
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        this.size = size;
+    }
+
+    @Override
+    public List<String> getComponents() {
+        return components;
+    }
+
+    /**
+     * Throws UnsupportedOperationException, a ColumnarDataArrayValue is
+     * read-only.
+     *
+     * @param properties ignored.
+     */
+    @Override
+    public void setComponents(Set<Property> properties) {
+        throw new UnsupportedOperationException("A ColumnarDataArrayValue is read-only.");
+    }
+
+    /**
+     * Throws UnsupportedOperationException, a ColumnarDataArrayValue is
+     * read-only.
+     *
+     * @param o ignored.
+     */
+    @Override
+    public void addObservation(Observation o) {
+        throw new UnsupportedOperationException("A ColumnarDataArrayValue is read-only.");
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The columns, in the order of the components.
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @param component The name of the component, like "result".
+     * @return The column of the given component, or null if there is no such
+     * component.
+     */
+    public Column getColumn(String component) {
+        final int index = components.indexOf(component);
+        if (index < 0 || index >= columns.size()) {
+            return null;
+        }
+        return columns.get(index);
+    }
+
+    /**
+     * Builds the rows as lists of objects. This creates a copy of all data,
+     * meant for compatibility with code that expects a normal DataArrayValue.
+     *
+     * @return A new list with a list for each row.
+     */
+    @Override
+    public List<List<Object>> getDataArray() {
+        final List<List<Object>> rows = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            final List<Object> values = new ArrayList<>(columns.size());
+            for (Column column : columns) {
+                values.add(column.getValue(row));
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 53 * hash + Objects.hashCode(getDatastream());
+        hash = 53 * hash + Objects.hashCode(getMultiDatastream());
+        hash = 53 * hash + components.hashCode();
+        hash = 53 * hash + columns.hashCode();
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final ColumnarDataArrayValue other = (ColumnarDataArrayValue) obj;
+        return size == other.size
+                && Objects.equals(getDatastream(), other.getDatastream())
+                && Objects.equals(getMultiDatastream(), other.getMultiDatastream())
+                && components.equals(other.components)
+                && columns.equals(other.columns);
+    }
+
+}
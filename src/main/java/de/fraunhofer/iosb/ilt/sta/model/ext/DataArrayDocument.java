@@ -22,19 +22,38 @@
  */
 package de.fraunhofer.iosb.ilt.sta.model.ext;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.jackson.DataFormat;
 import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.http.HttpResponse;
+import tools.jackson.core.JacksonException;
 
 /**
+ * A set of DataArrays. Used both for creating Observations with the
+ * CreateObservations extension, and for reading Observations with
+ * $resultFormat=dataArray.
  *
  * @author scf
  */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class DataArrayDocument {
 
+    @JsonProperty("@iot.count")
     private long count = -1;
+    @JsonProperty("@iot.nextLink")
     private String nextLink;
+    @JsonProperty("value")
     private List<DataArrayValue> value = new ArrayList<>();
+    @JsonIgnore
+    private SensorThingsService service;
 
     public long getCount() {
         return count;
@@ -65,6 +84,7 @@ public class DataArrayDocument {
      *
      * @return All observations in all Datastreams in this DataArrayDocument.
      */
+    @JsonIgnore
     public List<Observation> getObservations() {
         List<Observation> retval = new ArrayList<>();
         for (DataArrayValue dav : value) {
@@ -72,4 +92,58 @@ public class DataArrayDocument {
         }
         return retval;
     }
+
+    /**
+     * Set the service used to follow the nextLink.
+     *
+     * @param service The service used to follow the nextLink.
+     */
+    public void setService(SensorThingsService service) {
+        this.service = service;
+    }
+
+    public boolean hasNextLink() {
+        return nextLink != null;
+    }
+
+    /**
+     * Reads a DataArrayDocument from a response to a $resultFormat=dataArray
+     * request. The DataArrays are decoded by column, into
+     * {@link ColumnarDataArrayValue}s.
+     *
+     * @param response The response to read.
+     * @return The document.
+     * @throws IOException If reading the response fails.
+     */
+    public static DataArrayDocument read(HttpResponse response) throws IOException {
+        return DataFormat.of(response).getMapper()
+                .readerFor(DataArrayDocument.class)
+                .withAttribute(ColumnarDataArrayValue.ATTRIBUTE_COLUMNAR, Boolean.TRUE)
+                .readValue(response.getEntity().getContent());
+    }
+
+    /**
+     * Replaces the DataArrays in this document with the next page, by
+     * following the nextLink.
+     *
+     * @throws ServiceFailureException If fetching the next page fails.
+     */
+    public void fetchNext() throws ServiceFailureException {
+        if (nextLink == null) {
+            throw new IllegalStateException("There is no nextLink to follow.");
+        }
+        if (service == null) {
+            throw new IllegalStateException("No service set, can not follow nextLink.");
+        }
+        try {
+            final DataArrayDocument next = EntityList.fetchPage(service, URI.create(nextLink), DataArrayDocument::read);
+            value = next.value;
+            nextLink = next.nextLink;
+            if (next.count >= 0) {
+                count = next.count;
+            }
+        } catch (IOException | JacksonException | IllegalArgumentException ex) {
+            throw new ServiceFailureException("Failed to fetch next page.", ex);
+        }
+    }
 }
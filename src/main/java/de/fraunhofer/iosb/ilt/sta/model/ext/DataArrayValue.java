@@ -38,7 +38,7 @@ import java.util.Set;
  *
  * @author scf
  */
-@JsonIgnoreProperties("dataArray@iot.count")
+@JsonIgnoreProperties(value = "dataArray@iot.count", ignoreUnknown = true)
 public class DataArrayValue {
 
     /**
@@ -170,6 +170,8 @@ public class DataArrayValue {
     @JsonProperty("MultiDatastream")
     private MultiDatastream multiDatastream;
     @JsonIgnore
+    private String navigationLink;
+    @JsonIgnore
     private VisibleProperties visibleProperties;
     @JsonProperty("components")
     private List<String> components;
@@ -217,6 +219,21 @@ public class DataArrayValue {
         this.multiDatastream = multiDatastream.withOnlyId();
     }
 
+    /**
+     * The navigationLink of the Datastream or MultiDatastream of this
+     * DataArray, as sent by the service when reading Observations with
+     * $resultFormat=dataArray.
+     *
+     * @return The navigationLink, or null.
+     */
+    public String getNavigationLink() {
+        return navigationLink;
+    }
+
+    public void setNavigationLink(String navigationLink) {
+        this.navigationLink = navigationLink;
+    }
+
     public List<String> getComponents() {
         return components;
     }
@@ -227,6 +244,7 @@ public class DataArrayValue {
      *
      * @param properties The components to set.
      */
+    @JsonIgnore
     public void setComponents(Set<Property> properties) {
         if (!dataArray.isEmpty()) {
             throw new IllegalStateException("Can not change components after adding Observations.");
@@ -254,6 +272,15 @@ public class DataArrayValue {
         return dataArray;
     }
 
+    /**
+     * The number of rows in this DataArray.
+     *
+     * @return The number of rows in this DataArray.
+     */
+    public int size() {
+        return dataArray.size();
+    }
+
     @Override
     public int hashCode() {
         int hash = 7;
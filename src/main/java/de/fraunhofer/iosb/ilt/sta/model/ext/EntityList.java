@@ -22,28 +22,33 @@
  */
 package de.fraunhofer.iosb.ilt.sta.model.ext;
 
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
 import de.fraunhofer.iosb.ilt.sta.StatusCodeException;
 import de.fraunhofer.iosb.ilt.sta.Utils;
-import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.jackson.Canonicalizer;
 import de.fraunhofer.iosb.ilt.sta.model.Entity;
 import de.fraunhofer.iosb.ilt.sta.model.EntityType;
+import de.fraunhofer.iosb.ilt.sta.model.Id;
+import de.fraunhofer.iosb.ilt.sta.model.IdString;
+import de.fraunhofer.iosb.ilt.sta.query.Query;
+import de.fraunhofer.iosb.ilt.sta.service.EntityCache;
 import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import org.apache.http.Consts;
 import org.apache.http.ParseException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.entity.ContentType;
-import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import tools.jackson.databind.ObjectMapper;
+import tools.jackson.core.JacksonException;
 
 /**
  * An entity set.
@@ -56,11 +61,19 @@ public class EntityList<T extends Entity<T>> implements EntityCollection<T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EntityList.class.getName());
 
+    /**
+     * The default maximum number of ids combined into one query by
+     * {@link #prefetch(EntityType)}.
+     */
+    public static final int DEFAULT_PREFETCH_CHUNK_SIZE = 100;
+
     private final List<T> entities = new ArrayList<>();
     private long count = -1;
     private URI nextLink;
     private SensorThingsService service;
     private Class<T> entityClass;
+    private NumericResult.Type resultType;
+    private Canonicalizer canonicalizer;
     private final EntityType entityType;
 
     public EntityList(EntityType entityType) {
@@ -108,19 +121,10 @@ public class EntityList<T extends Entity<T>> implements EntityCollection<T> {
                     return;
                 }
 
-                HttpGet httpGet = new HttpGet(nextLink);
-                httpGet.addHeader("Accept", ContentType.APPLICATION_JSON.getMimeType());
                 EntityList<T> nextList;
-                LOGGER.debug("Fetching: {}", httpGet.getURI());
-                try (CloseableHttpResponse response = service.execute(httpGet)) {
-
-                    Utils.throwIfNotOk(httpGet, response);
-
-                    String json = EntityUtils.toString(response.getEntity(), Consts.UTF_8);
-                    final ObjectMapper mapper = ObjectMapperFactory.get();
-                    nextList = mapper.readValue(json, EntityType.listForClass(entityClass).getTypeReference());
-                    nextList.setService(service, entityClass);
-                } catch (IOException | ParseException exc) {
+                try {
+                    nextList = fetchPage(nextLink);
+                } catch (IOException | ParseException | JacksonException exc) {
                     LOGGER.error("Failed deserializing collection.", exc);
                     currentIterator = null;
                     nextLink = null;
@@ -158,6 +162,19 @@ public class EntityList<T extends Entity<T>> implements EntityCollection<T> {
         };
     }
 
+    /**
+     * Returns an Iterator over all entities, that follows nextLinks like
+     * {@link #fullIterator()}, but fetches up to lookAhead pages in the
+     * background while the current page is processed. The returned Iterator
+     * should be closed if it is not iterated until the end.
+     *
+     * @param lookAhead The maximum number of pages to fetch ahead.
+     * @return An Iterator over all entities.
+     */
+    public PrefetchingIterator<T> fullIterator(int lookAhead) {
+        return new PrefetchingIterator<>(this, lookAhead);
+    }
+
     @Override
     public boolean hasNextLink() {
         return nextLink != null;
@@ -165,24 +182,173 @@ public class EntityList<T extends Entity<T>> implements EntityCollection<T> {
 
     @Override
     public void fetchNext() throws StatusCodeException {
-        HttpGet httpGet = new HttpGet(nextLink);
+        try {
+            EntityList<T> nextList = fetchPage(nextLink);
+            clear();
+            addAll(nextList);
+            setNextLink(nextList.getNextLink());
+        } catch (IOException | JacksonException ex) {
+            LOGGER.error("Failed to fetch list.", ex);
+        }
+    }
+
+    /**
+     * Fetches the page of entities at the given link. The response body is
+     * parsed directly from the response stream, without first converting it
+     * to a String.
+     *
+     * @param link The link to fetch.
+     * @return The fetched page, linked to the service of this list.
+     * @throws IOException If fetching or parsing the response fails.
+     * @throws StatusCodeException If the server does not return a 2xx status.
+     */
+    EntityList<T> fetchPage(URI link) throws IOException, StatusCodeException {
+        return fetchPage(service, link, response -> {
+            EntityList<T> nextList = service.getReader(response, resultType, canonicalizer)
+                    .forType(EntityType.listForClass(entityClass).getTypeReference())
+                    .readValue(response.getEntity().getContent());
+            nextList.setService(service, entityClass);
+            nextList.setResultType(resultType);
+            nextList.setCanonicalizer(canonicalizer);
+            return nextList;
+        });
+    }
+
+    /**
+     * Reads a page from a successful response.
+     *
+     * @param <P> The type of the page.
+     */
+    @FunctionalInterface
+    interface PageReader<P> {
+
+        P read(CloseableHttpResponse response) throws IOException;
+    }
+
+    /**
+     * Fetches the page at the given link, and parses it with the given reader.
+     * Shared by all page types that follow nextLinks.
+     *
+     * @param <P> The type of the page.
+     * @param service The service to fetch the page with.
+     * @param link The link to fetch.
+     * @param reader The reader that parses the response.
+     * @return The fetched page.
+     * @throws IOException If fetching or parsing the response fails.
+     * @throws StatusCodeException If the server does not return a 2xx status.
+     */
+    static <P> P fetchPage(SensorThingsService service, URI link, PageReader<P> reader) throws IOException, StatusCodeException {
+        HttpGet httpGet = new HttpGet(link);
         LOGGER.debug("Fetching: {}", httpGet.getURI());
-        httpGet.addHeader("Accept", ContentType.APPLICATION_JSON.getMimeType());
+        httpGet.addHeader("Accept", service.getAcceptHeader());
 
         try (CloseableHttpResponse response = service.execute(httpGet)) {
-
             Utils.throwIfNotOk(httpGet, response);
+            return reader.read(response);
+        }
+    }
 
-            String json = EntityUtils.toString(response.getEntity(), Consts.UTF_8);
-            final ObjectMapper mapper = ObjectMapperFactory.get();
-            EntityList<T> nextList = mapper.readValue(json, EntityType.listForClass(entityClass).getTypeReference());
-            nextList.setService(service, entityClass);
-            clear();
-            addAll(nextList);
-            setNextLink(nextList.getNextLink());
-        } catch (IOException ex) {
-            LOGGER.error("Failed to fetch list.", ex);
+    /**
+     * Loads the given related entity for all entities in this list that do
+     * not have it yet, using {@value #DEFAULT_PREFETCH_CHUNK_SIZE} entities
+     * per request.
+     *
+     * @param relation The singular relation to load, like
+     * {@link EntityType#DATASTREAM} for a list of Observations.
+     * @return this list.
+     * @throws ServiceFailureException If loading the related entities fails.
+     * @see #prefetch(EntityType, int)
+     */
+    public EntityList<T> prefetch(EntityType relation) throws ServiceFailureException {
+        return prefetch(relation, DEFAULT_PREFETCH_CHUNK_SIZE);
+    }
+
+    /**
+     * Loads the given related entity for all entities in this list that do
+     * not have it yet. Since the ids of the related entities are not known
+     * without expanding them, the entities of this list are fetched again,
+     * chunkSize at a time, with a filter on their ids and the relation
+     * expanded. Entities that share a related entity get the same instance.
+     * If the service has an {@link EntityCache}, related entities are taken
+     * from, and added to, the cache.
+     *
+     * @param relation The singular relation to load, like
+     * {@link EntityType#DATASTREAM} for a list of Observations.
+     * @param chunkSize The maximum number of entities to combine in one
+     * request.
+     * @return this list.
+     * @throws ServiceFailureException If loading the related entities fails.
+     */
+    public EntityList<T> prefetch(EntityType relation, int chunkSize) throws ServiceFailureException {
+        if (relation.isList() || !entityType.hasRelationTo(relation)) {
+            throw new IllegalArgumentException(entityType + " does not have a singular relation " + relation);
         }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1, got " + chunkSize);
+        }
+        if (service == null) {
+            throw new IllegalStateException("Can not prefetch on a list without a service.");
+        }
+        final EntityCache cache = service.getEntityCache();
+
+        final Map<Id, List<T>> missing = new LinkedHashMap<>();
+        for (T entity : entities) {
+            if (entity.getId() == null || entity.getRelationIfLoaded(relation) != null) {
+                continue;
+            }
+            Entity<?> cached = cache == null ? null : cache.getRelated(entity, relation);
+            if (cached != null) {
+                entity.setRelation(relation, cached);
+                continue;
+            }
+            missing.computeIfAbsent(entity.getId(), k -> new ArrayList<>()).add(entity);
+        }
+
+        final Map<Id, Entity<?>> relatedById = new HashMap<>();
+        final List<Id> ids = new ArrayList<>(missing.keySet());
+        for (int start = 0; start < ids.size(); start += chunkSize) {
+            final List<Id> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+            final Query<T> query = new Query<>(service, entityClass)
+                    .filter(idFilter(chunk))
+                    .select("id")
+                    .expand(relation.getName())
+                    .top(chunk.size());
+            if (canonicalizer != null) {
+                query.canonicalize(canonicalizer);
+            }
+            for (Iterator<T> it = query.list().fullIterator(); it.hasNext();) {
+                final T loaded = it.next();
+                final Entity<?> related = loaded.getRelationIfLoaded(relation);
+                final List<T> targets = missing.get(loaded.getId());
+                if (related == null || targets == null) {
+                    continue;
+                }
+                Entity<?> shared = relatedById.computeIfAbsent(related.getId(), k -> related);
+                if (cache != null) {
+                    shared = cache.putRelated(loaded, shared);
+                }
+                for (T target : targets) {
+                    target.setRelation(relation, shared);
+                }
+            }
+        }
+        return this;
+    }
+
+    private static String idFilter(List<Id> ids) {
+        final StringBuilder filter = new StringBuilder();
+        for (Id id : ids) {
+            if (filter.length() > 0) {
+                filter.append(" or ");
+            }
+            filter.append("id eq ");
+            if (id instanceof IdString) {
+                filter.append('\'').append(Utils.escapeForStringConstant(id.getValue().toString())).append('\'');
+            } else {
+                filter.append(id.getValue());
+            }
+        }
+        return filter.toString();
     }
 
     @Override
@@ -258,6 +424,36 @@ public class EntityList<T extends Entity<T>> implements EntityCollection<T> {
         this.nextLink = nextLink;
     }
 
+    public NumericResult.Type getResultType() {
+        return resultType;
+    }
+
+    /**
+     * Set the primitive type that numeric Observation results are read into,
+     * when following nextLinks.
+     *
+     * @param resultType The primitive type for numeric results, or null to
+     * read them as BigDecimal.
+     */
+    public void setResultType(NumericResult.Type resultType) {
+        this.resultType = resultType;
+    }
+
+    public Canonicalizer getCanonicalizer() {
+        return canonicalizer;
+    }
+
+    /**
+     * Set the Canonicalizer used when following nextLinks, instead of the
+     * Canonicalizer of the service.
+     *
+     * @param canonicalizer The Canonicalizer to use, or null to use the one
+     * of the service.
+     */
+    public void setCanonicalizer(Canonicalizer canonicalizer) {
+        this.canonicalizer = canonicalizer;
+    }
+
     public void setService(SensorThingsService service, Class<T> entityClass) {
         this.service = service;
         this.entityClass = entityClass;
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.model.ext;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.util.TokenBuffer;
+
+/**
+ * A JSON value that has been read, but not decoded yet. The tokens of the
+ * value are buffered, and only turned into Java objects when the value is
+ * first needed. When written, the buffered tokens are copied to the output
+ * unchanged.
+ *
+ * @author scf
+ */
+public class LazyValue {
+
+    /**
+     * The deserialisation attribute that, when set to Boolean.TRUE, makes the
+     * result, resultQuality and parameters of Observations decode lazily.
+     */
+    public static final String ATTRIBUTE_LAZY_DECODING = LazyValue.class.getName() + ".lazyDecoding";
+
+    private final TokenBuffer tokens;
+
+    public LazyValue(TokenBuffer tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Decode the buffered value into the given type.
+     *
+     * @param <T> The type to decode into.
+     * @param type The type to decode into.
+     * @return The decoded value.
+     * @throws JacksonException If the value can not be decoded into the type.
+     */
+    public <T> T decode(Class<T> type) throws JacksonException {
+        try (JsonParser parser = tokens.asParser()) {
+            return ObjectMapperFactory.get().readValue(parser, type);
+        }
+    }
+
+    /**
+     * Write the buffered tokens to the given generator.
+     *
+     * @param gen The generator to write to.
+     * @throws JacksonException If writing fails.
+     */
+    public void writeTo(JsonGenerator gen) throws JacksonException {
+        tokens.serialize(gen);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(decode(Object.class));
+    }
+
+}
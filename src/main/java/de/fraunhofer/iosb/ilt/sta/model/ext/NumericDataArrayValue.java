@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.model.ext;
+
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.TimeObject;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A DataArrayValue for Observations with a numeric result and a phenomenonTime
+ * instant, that stores its rows in primitive arrays instead of lists of
+ * objects. The Observations themselves are not kept, so they do not get their
+ * ids set when the DataArray is created in the service.
+ *
+ * The results are stored either as doubles or as longs, depending on the
+ * constructor argument. The phenomenonTimes are stored as epoch milliseconds.
+ * JSON can not hold NaN or infinite numbers, so such results are rejected.
+ *
+ * @author scf
+ */
+public class NumericDataArrayValue extends DataArrayValue {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final boolean integerResults;
+    private long[] phenomenonTimes;
+    private double[] doubleResults;
+    private long[] longResults;
+    private int size;
+
+    /**
+     * Create a new NumericDataArrayValue for the given Datastream.
+     *
+     * @param datastream The Datastream the Observations belong to.
+     * @param integerResults If true, results are stored as long, otherwise as
+     * double.
+     */
+    public NumericDataArrayValue(Datastream datastream, boolean integerResults) {
+        this(datastream, integerResults, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new NumericDataArrayValue for the given Datastream.
+     *
+     * @param datastream The Datastream the Observations belong to.
+     * @param integerResults If true, results are stored as long, otherwise as
+     * double.
+     * @param initialCapacity The number of rows to allocate space for.
+     */
+    public NumericDataArrayValue(Datastream datastream, boolean integerResults, int initialCapacity) {
+        super(datastream, EnumSet.of(Property.PhenomenonTime, Property.Result));
+        this.integerResults = integerResults;
+        final int capacity = Math.max(1, initialCapacity);
+        this.phenomenonTimes = new long[capacity];
+        if (integerResults) {
+            longResults = new long[capacity];
+        } else {
+            doubleResults = new double[capacity];
+        }
+    }
+
+    /**
+     * Add a row with a double result. Throws IllegalStateException when this
+     * DataArrayValue stores integer results, and IllegalArgumentException when
+     * the result is NaN or infinite.
+     *
+     * @param phenomenonTime The phenomenonTime in epoch milliseconds.
+     * @param result The result.
+     */
+    public void add(long phenomenonTime, double result) {
+        if (integerResults) {
+            throw new IllegalStateException("This DataArrayValue stores integer results.");
+        }
+        if (!Double.isFinite(result)) {
+            throw new IllegalArgumentException("Result " + result + " can not be written to JSON.");
+        }
+        ensureCapacity();
+        phenomenonTimes[size] = phenomenonTime;
+        doubleResults[size] = result;
+        size++;
+    }
+
+    /**
+     * Add a row with an integer result.
+     *
+     * @param phenomenonTime The phenomenonTime in epoch milliseconds.
+     * @param result The result.
+     */
+    public void add(long phenomenonTime, long result) {
+        if (!integerResults) {
+            add(phenomenonTime, (double) result);
+            return;
+        }
+        ensureCapacity();
+        phenomenonTimes[size] = phenomenonTime;
+        longResults[size] = result;
+        size++;
+    }
+
+    /**
+     * Adds the phenomenonTime and result of the given Observation. The
+     * Observation must have a finite numeric result and a phenomenonTime that
+     * is not an interval. When this DataArrayValue stores integer results, the
+     * result must be an integer that fits in a long. The Observation itself is
+     * not kept.
+     *
+     * @param o The Observation to add.
+     */
+    @Override
+    public void addObservation(Observation o) {
+        final TimeObject phenomenonTime = o.getPhenomenonTime();
+        if (phenomenonTime == null || phenomenonTime.isInterval()) {
+            throw new IllegalArgumentException("Observation must have a phenomenonTime that is not an interval.");
+        }
+        if (!(o.getResult() instanceof Number)) {
+            throw new IllegalArgumentException("Observation must have a numeric result.");
+        }
+        final long time = phenomenonTime.getAsDateTime().toInstant().toEpochMilli();
+        final Number result = (Number) o.getResult();
+        if (integerResults) {
+            add(time, toExactLong(result));
+        } else {
+            add(time, result.doubleValue());
+        }
+    }
+
+    private static long toExactLong(Number result) {
+        if (result instanceof Long || result instanceof Integer || result instanceof Short || result instanceof Byte) {
+            return result.longValue();
+        }
+        try {
+            if (result instanceof BigDecimal) {
+                return ((BigDecimal) result).longValueExact();
+            }
+            if (result instanceof BigInteger) {
+                return ((BigInteger) result).longValueExact();
+            }
+            return new BigDecimal(result.doubleValue()).longValueExact();
+        } catch (ArithmeticException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Result " + result + " is not an integer that fits in a long.", ex);
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size < phenomenonTimes.length) {
+            return;
+        }
+        final int newCapacity = phenomenonTimes.length * 2;
+        phenomenonTimes = Arrays.copyOf(phenomenonTimes, newCapacity);
+        if (integerResults) {
+            longResults = Arrays.copyOf(longResults, newCapacity);
+        } else {
+            doubleResults = Arrays.copyOf(doubleResults, newCapacity);
+        }
+    }
+
+    /**
+     * Throws UnsupportedOperationException, the components of a
+     * NumericDataArrayValue are fixed.
+     *
+     * @param properties ignored.
+     */
+    @Override
+    public void setComponents(Set<Property> properties) {
+        throw new UnsupportedOperationException("The components of a NumericDataArrayValue are fixed.");
+    }
+
+    public boolean isIntegerResults() {
+        return integerResults;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row The row to get the phenomenonTime for.
+     * @return The phenomenonTime in epoch milliseconds.
+     */
+    public long getPhenomenonTime(int row) {
+        Objects.checkIndex(row, size);
+        return phenomenonTimes[row];
+    }
+
+    /**
+     * @param row The row to get the result for.
+     * @return The result as double.
+     */
+    public double getDoubleResult(int row) {
+        Objects.checkIndex(row, size);
+        return integerResults ? longResults[row] : doubleResults[row];
+    }
+
+    /**
+     * @param row The row to get the result for.
+     * @return The result as long.
+     */
+    public long getLongResult(int row) {
+        Objects.checkIndex(row, size);
+        return integerResults ? longResults[row] : (long) doubleResults[row];
+    }
+
+    /**
+     * Builds the rows as lists of objects. This creates a copy of all data,
+     * meant for compatibility with code that expects a normal DataArrayValue.
+     *
+     * @return A new list with a list for each row.
+     */
+    @Override
+    public List<List<Object>> getDataArray() {
+        List<List<Object>> rows = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            final Object result = integerResults ? (Object) longResults[row] : (Object) doubleResults[row];
+            rows.add(Arrays.asList(Instant.ofEpochMilli(phenomenonTimes[row]).toString(), result));
+        }
+        return rows;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 67 * hash + Objects.hashCode(getDatastream());
+        hash = 67 * hash + size;
+        for (int row = 0; row < size; row++) {
+            hash = 67 * hash + Long.hashCode(phenomenonTimes[row]);
+            hash = 67 * hash + (integerResults ? Long.hashCode(longResults[row]) : Double.hashCode(doubleResults[row]));
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final NumericDataArrayValue other = (NumericDataArrayValue) obj;
+        if (integerResults != other.integerResults || size != other.size) {
+            return false;
+        }
+        if (!Objects.equals(getDatastream(), other.getDatastream())) {
+            return false;
+        }
+        if (!Arrays.equals(phenomenonTimes, 0, size, other.phenomenonTimes, 0, size)) {
+            return false;
+        }
+        if (integerResults) {
+            return Arrays.equals(longResults, 0, size, other.longResults, 0, size);
+        }
+        return Arrays.equals(doubleResults, 0, size, other.doubleResults, 0, size);
+    }
+
+}
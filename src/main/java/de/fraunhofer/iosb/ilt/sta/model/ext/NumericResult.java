@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.model.ext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A numeric Observation result, held as a primitive double or long. Used
+ * instead of a BigDecimal when results are read in typed mode, see
+ * {@link Type#forObservationType(java.lang.String)}.
+ *
+ * @author scf
+ */
+public final class NumericResult {
+
+    /**
+     * The deserialisation attribute that, when set to a {@link Type}, makes
+     * numeric results of Observations decode into a NumericResult of that
+     * type.
+     */
+    public static final String ATTRIBUTE_RESULT_TYPE = NumericResult.class.getName() + ".resultType";
+
+    /**
+     * The primitive type of a numeric result.
+     */
+    public enum Type {
+        DOUBLE,
+        LONG;
+
+        private static final Map<String, Type> BY_OBSERVATION_TYPE = new HashMap<>();
+
+        static {
+            BY_OBSERVATION_TYPE.put("http://www.opengis.net/def/observationType/OGC-OM/2.0/OM_Measurement", DOUBLE);
+            BY_OBSERVATION_TYPE.put("http://www.opengis.net/def/observationType/OGC-OM/2.0/OM_CountObservation", LONG);
+        }
+
+        /**
+         * Find the primitive result type for the given observationType.
+         * OM_Measurement results are doubles, OM_CountObservation results are
+         * longs.
+         *
+         * @param observationType The observationType of a Datastream.
+         * @return The primitive result type, or null if the results of the
+         * observationType are not numeric.
+         */
+        public static Type forObservationType(String observationType) {
+            if (observationType == null) {
+                return null;
+            }
+            return BY_OBSERVATION_TYPE.get(observationType);
+        }
+    }
+
+    private final Type type;
+    private final double doubleValue;
+    private final long longValue;
+
+    private NumericResult(Type type, double doubleValue, long longValue) {
+        this.type = type;
+        this.doubleValue = doubleValue;
+        this.longValue = longValue;
+    }
+
+    public static NumericResult of(double value) {
+        return new NumericResult(Type.DOUBLE, value, 0);
+    }
+
+    public static NumericResult of(long value) {
+        return new NumericResult(Type.LONG, 0, value);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public double doubleValue() {
+        if (type == Type.LONG) {
+            return longValue;
+        }
+        return doubleValue;
+    }
+
+    public long longValue() {
+        if (type == Type.DOUBLE) {
+            return (long) doubleValue;
+        }
+        return longValue;
+    }
+
+    /**
+     * The value as a boxed Double or Long.
+     *
+     * @return The value as a boxed Double or Long.
+     */
+    public Number toNumber() {
+        if (type == Type.LONG) {
+            return longValue;
+        }
+        return doubleValue;
+    }
+
+    @Override
+    public String toString() {
+        return toNumber().toString();
+    }
+
+}
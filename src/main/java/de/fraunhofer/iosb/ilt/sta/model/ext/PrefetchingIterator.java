@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.model.ext;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.model.Entity;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An Iterator over all entities of an EntityList, that follows the nextLinks
+ * of the list. Unlike the Iterator returned by
+ * {@link EntityList#fullIterator()}, this Iterator fetches the next pages in a
+ * background thread, while the current page is being processed.
+ *
+ * At most lookAhead pages are buffered. When the buffer is full, the
+ * background thread waits until the consumer takes a page from the buffer.
+ *
+ * When fetching a page fails, the Iterator ends after the last successfully
+ * fetched page, and the cause is available from {@link #getFailure()}.
+ *
+ * The Iterator should be closed when it is abandoned before the end is
+ * reached, to stop the background thread.
+ *
+ * @author scf
+ * @param <T> The type of the entities.
+ */
+public class PrefetchingIterator<T extends Entity<T>> implements Iterator<T>, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrefetchingIterator.class.getName());
+
+    /**
+     * A page, or the end marker, handed from the fetcher to the consumer.
+     *
+     * @param <T> The type of the entities.
+     */
+    private static class Page<T extends Entity<T>> {
+
+        private final EntityList<T> list;
+        private final ServiceFailureException failure;
+
+        public Page(EntityList<T> list, ServiceFailureException failure) {
+            this.list = list;
+            this.failure = failure;
+        }
+
+        public boolean isEnd() {
+            return list == null;
+        }
+    }
+
+    private final EntityList<T> source;
+    private final BlockingQueue<Page<T>> pages;
+    private final Thread fetcher;
+
+    private Iterator<T> currentIterator;
+    private boolean done;
+    private volatile boolean closed;
+    private ServiceFailureException failure;
+
+    /**
+     * Creates a new PrefetchingIterator, starting with the entities in the
+     * given list.
+     *
+     * @param source The list to start with.
+     * @param lookAhead The maximum number of pages to fetch ahead.
+     */
+    public PrefetchingIterator(EntityList<T> source, int lookAhead) {
+        if (lookAhead < 1) {
+            throw new IllegalArgumentException("lookAhead must be at least 1, got " + lookAhead);
+        }
+        this.source = source;
+        this.pages = new ArrayBlockingQueue<>(lookAhead);
+        this.currentIterator = source.iterator();
+        final URI firstLink = source.getNextLink();
+        if (firstLink == null) {
+            fetcher = null;
+            done = true;
+        } else {
+            fetcher = Thread.ofVirtual()
+                    .name("EntityList-prefetch")
+                    .start(() -> fetchAll(firstLink));
+        }
+    }
+
+    private void fetchAll(URI firstLink) {
+        URI nextLink = firstLink;
+        try {
+            while (nextLink != null && !closed) {
+                Page<T> page;
+                try {
+                    EntityList<T> list = source.fetchPage(nextLink);
+                    nextLink = list.getNextLink();
+                    page = new Page<>(list, null);
+                } catch (ServiceFailureException exc) {
+                    nextLink = null;
+                    page = new Page<>(null, exc);
+                } catch (Exception exc) {
+                    page = new Page<>(null, new ServiceFailureException("Failed to fetch page " + nextLink, exc));
+                    nextLink = null;
+                }
+                pages.put(page);
+            }
+            if (!closed) {
+                pages.put(new Page<>(null, null));
+            }
+        } catch (InterruptedException exc) {
+            LOGGER.trace("Prefetching interrupted.");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentIterator.hasNext()) {
+            if (done) {
+                return false;
+            }
+            final Page<T> page;
+            try {
+                page = pages.take();
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                failure = new ServiceFailureException("Interrupted while waiting for the next page.", exc);
+                close();
+                return false;
+            }
+            if (page.isEnd()) {
+                done = true;
+                failure = page.failure;
+                if (failure != null) {
+                    LOGGER.error("Failed to prefetch next page.", failure);
+                }
+                currentIterator = Collections.emptyIterator();
+                return false;
+            }
+            currentIterator = page.list.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentIterator.next();
+    }
+
+    /**
+     * The reason the iteration ended early, or null if all pages were fetched
+     * successfully, or the iteration has not ended yet.
+     *
+     * @return The reason the iteration ended early, or null.
+     */
+    public ServiceFailureException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Stops the background fetching and releases all buffered pages. After
+     * closing, the Iterator returns no more entities.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        done = true;
+        currentIterator = Collections.emptyIterator();
+        if (fetcher != null) {
+            fetcher.interrupt();
+        }
+        pages.clear();
+    }
+
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.query;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.model.Entity;
+import de.fraunhofer.iosb.ilt.sta.model.ext.PrefetchingIterator;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A query that is split into disjoint time windows, that are fetched
+ * concurrently. Created by
+ * {@link Query#partitionByTime(String, Instant, Instant, int)}.
+ *
+ * Each partition is a copy of the original query, with its $filter extended
+ * by {@code <timeProperty> ge <start> and <timeProperty> lt <end>}. The
+ * windows are half-open, so an entity with a time instant in the range is in
+ * exactly one partition. Entities with a time interval are partitioned by
+ * how the server compares intervals to instants. Other query options, like
+ * $top, apply to each partition separately.
+ *
+ * Each partition follows its nextLinks until it is complete. A failure to
+ * follow a nextLink fails the partition, the same as a failure of its first
+ * request. Up to {@link #parallel(int)} partitions are fetched at the same
+ * time. Their entities are handed to the consumer in chunks, while the next
+ * pages are fetched, and each partition only fetches a few chunks ahead of the
+ * consumer, so memory use does not grow with the size of the partitions.
+ * Note that the number of concurrent requests is also limited by the
+ * connection pool of the service, see
+ * {@link de.fraunhofer.iosb.ilt.sta.service.SensorThingsService#setConnectionPoolConfig}.
+ *
+ * @author scf
+ * @param <T> The type of entity this query returns.
+ */
+public class PartitionedQuery<T extends Entity<T>> {
+
+    /**
+     * The logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedQuery.class);
+
+    /**
+     * The number of entities handed from a partition to the consumer at once.
+     */
+    private static final int CHUNK_SIZE = 256;
+    /**
+     * The number of chunks a partition fetches ahead of the consumer.
+     */
+    private static final int CHUNKS_AHEAD = 4;
+
+    private final List<Query<T>> partitions;
+    private int parallelism = 1;
+
+    PartitionedQuery(Query<T> query, String timeProperty, Instant from, Instant to, int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("parts must be at least 1, got " + parts);
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from (" + from + ") must be before to (" + to + ")");
+        }
+        final Duration step = Duration.between(from, to).dividedBy(parts);
+        if (step.isZero()) {
+            throw new IllegalArgumentException("The range from " + from + " to " + to + " is too small for " + parts + " parts.");
+        }
+        final String baseFilter = query.getParam("$filter");
+        final List<Query<T>> list = new ArrayList<>(parts);
+        Instant start = from;
+        for (int i = 1; i <= parts; i++) {
+            final Instant end = i == parts ? to : from.plus(step.multipliedBy(i));
+            final String window = timeProperty + " ge " + DateTimeFormatter.ISO_INSTANT.format(start)
+                    + " and " + timeProperty + " lt " + DateTimeFormatter.ISO_INSTANT.format(end);
+            final Query<T> partition = query.copy();
+            partition.filter(baseFilter == null ? window : "(" + baseFilter + ") and " + window);
+            list.add(partition);
+            start = end;
+        }
+        final String orderBy = query.getParam("$orderby");
+        if (orderBy != null && orderBy.trim().startsWith(timeProperty + " desc")) {
+            Collections.reverse(list);
+        }
+        this.partitions = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Set the maximum number of partitions that are fetched at the same time.
+     * The default is 1.
+     *
+     * @param parallelism The maximum number of partitions to fetch at the
+     * same time.
+     * @return This PartitionedQuery.
+     */
+    public PartitionedQuery<T> parallel(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * The queries for the partitions, in the order in which their results
+     * are merged. Partitions are in ascending time order, or in descending
+     * time order if the query is ordered by the time property descending.
+     *
+     * @return The queries for the partitions.
+     */
+    public List<Query<T>> getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * Fetch all partitions and return their entities in partition order. If
+     * the query is ordered by the time property, this is the $orderby order.
+     *
+     * @return All entities of all partitions.
+     * @throws ServiceFailureException If fetching a partition fails.
+     */
+    public List<T> list() throws ServiceFailureException {
+        final List<T> result = new ArrayList<>();
+        try (PartitionIterator it = new PartitionIterator(true)) {
+            it.forEachRemaining(result::add);
+        } catch (IllegalStateException ex) {
+            if (ex.getCause() instanceof ServiceFailureException) {
+                throw (ServiceFailureException) ex.getCause();
+            }
+            throw ex;
+        }
+        return result;
+    }
+
+    /**
+     * Stream the entities of all partitions in partition order. If the query
+     * is ordered by the time property, this is the $orderby order. The
+     * stream should be closed if it is not consumed until the end. If
+     * fetching a partition fails, the stream throws an IllegalStateException
+     * with the ServiceFailureException as cause.
+     *
+     * @return The entities of all partitions, in partition order.
+     */
+    public Stream<T> orderedStream() {
+        return stream(new PartitionIterator(true), Spliterator.ORDERED);
+    }
+
+    /**
+     * Stream the entities of all partitions, in the order in which they are
+     * fetched, so entities of different partitions are mixed. The stream should be closed if it is not consumed
+     * until the end. If fetching a partition fails, the stream throws an
+     * IllegalStateException with the ServiceFailureException as cause.
+     *
+     * @return The entities of all partitions, unordered.
+     */
+    public Stream<T> stream() {
+        return stream(new PartitionIterator(false), 0);
+    }
+
+    private Stream<T> stream(PartitionIterator it, int characteristics) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, characteristics | Spliterator.NONNULL), false)
+                .onClose(it::close);
+    }
+
+    /**
+     * Fetches the given partition, following its nextLinks, and hands its
+     * entities to the given queue in chunks. Ends with an end marker, or a
+     * failure.
+     */
+    private void fetchPartition(Query<T> partition, BlockingQueue<Chunk<T>> queue) throws InterruptedException {
+        LOGGER.debug("Fetching partition {}", partition.getParam("$filter"));
+        Chunk<T> last;
+        try (PrefetchingIterator<T> it = partition.list().fullIterator(1)) {
+            List<T> entities = new ArrayList<>(CHUNK_SIZE);
+            while (it.hasNext()) {
+                entities.add(it.next());
+                if (entities.size() == CHUNK_SIZE) {
+                    queue.put(new Chunk<>(entities, false, null));
+                    entities = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!entities.isEmpty()) {
+                queue.put(new Chunk<>(entities, false, null));
+            }
+            last = new Chunk<>(Collections.emptyList(), true, it.getFailure());
+        } catch (ServiceFailureException | RuntimeException ex) {
+            last = new Chunk<>(Collections.emptyList(), true, ex);
+        }
+        queue.put(last);
+    }
+
+    /**
+     * A part of the entities of a partition, or the end of a partition.
+     *
+     * @param <T> The type of entity.
+     */
+    private static class Chunk<T> {
+
+        private final List<T> entities;
+        private final boolean end;
+        private final Exception failure;
+
+        Chunk(List<T> entities, boolean end, Exception failure) {
+            this.entities = entities;
+            this.end = end;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Iterates over the entities of all partitions, keeping up to
+     * parallelism partitions in flight. In ordered mode, each partition has
+     * its own queue, consumed in partition order. Otherwise all partitions
+     * share one queue, consumed in the order the chunks arrive.
+     */
+    private class PartitionIterator implements Iterator<T>, AutoCloseable {
+
+        private final boolean ordered;
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final List<BlockingQueue<Chunk<T>>> queues = new ArrayList<>();
+        private final BlockingQueue<Chunk<T>> shared;
+        private int started;
+        private int finished;
+        private Iterator<T> current = Collections.emptyIterator();
+
+        PartitionIterator(boolean ordered) {
+            this.ordered = ordered;
+            final int window = Math.min(parallelism, partitions.size());
+            this.shared = ordered ? null : new ArrayBlockingQueue<>(window * CHUNKS_AHEAD + window);
+            for (int i = 0; i < window; i++) {
+                startNext();
+            }
+        }
+
+        private void startNext() {
+            if (started >= partitions.size()) {
+                return;
+            }
+            final Query<T> partition = partitions.get(started);
+            final BlockingQueue<Chunk<T>> queue = ordered ? new ArrayBlockingQueue<>(CHUNKS_AHEAD + 1) : shared;
+            queues.add(queue);
+            started++;
+            executor.execute(() -> {
+                try {
+                    fetchPartition(partition, queue);
+                } catch (InterruptedException ex) {
+                    LOGGER.trace("Fetching partition interrupted.");
+                }
+            });
+        }
+
+        /**
+         * Takes the next chunk with entities, starting new partitions as
+         * partitions end.
+         *
+         * @return The next chunk with entities, or null if all partitions are
+         * done.
+         */
+        private Chunk<T> nextChunk() {
+            while (finished < partitions.size()) {
+                final Chunk<T> chunk;
+                try {
+                    chunk = (ordered ? queues.get(finished) : shared).take();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new IllegalStateException("Interrupted while waiting for a partition.", ex);
+                }
+                if (chunk.failure != null) {
+                    close();
+                    throw new IllegalStateException("Failed to fetch partition.", chunk.failure);
+                }
+                if (!chunk.end) {
+                    return chunk;
+                }
+                finished++;
+                startNext();
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                final Chunk<T> chunk = nextChunk();
+                if (chunk == null) {
+                    close();
+                    return false;
+                }
+                current = chunk.entities.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        @Override
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+}
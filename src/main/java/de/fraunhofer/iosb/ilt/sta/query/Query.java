@@ -23,18 +23,25 @@
 package de.fraunhofer.iosb.ilt.sta.query;
 
 import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.StatusCodeException;
 import de.fraunhofer.iosb.ilt.sta.Utils;
-import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.jackson.Canonicalizer;
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
 import de.fraunhofer.iosb.ilt.sta.model.Entity;
 import de.fraunhofer.iosb.ilt.sta.model.EntityType;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayDocument;
 import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericResult;
 import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import org.apache.http.Consts;
+import java.util.concurrent.CompletableFuture;
+import org.apache.http.HttpResponse;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpDelete;
@@ -45,7 +52,7 @@ import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import tools.jackson.databind.ObjectMapper;
+import tools.jackson.core.JacksonException;
 
 /**
  * A query for reading operations.
@@ -64,6 +71,8 @@ public class Query<T extends Entity<T>> implements QueryRequest<T>, QueryParamet
     private final Class<T> entityClass;
     private final Entity<?> parent;
     private final List<NameValuePair> params = new ArrayList<>();
+    private NumericResult.Type resultType;
+    private Canonicalizer canonicalizer;
 
     public Query(SensorThingsService service, Class<T> entityClass) {
         this(service, entityClass, null);
@@ -88,6 +97,35 @@ public class Query<T extends Entity<T>> implements QueryRequest<T>, QueryParamet
         return service;
     }
 
+    /**
+     * Get the value of the given query parameter, like $filter.
+     *
+     * @param key The name of the parameter.
+     * @return The value of the parameter, or null if it is not set.
+     */
+    String getParam(String key) {
+        for (NameValuePair param : params) {
+            if (param.getName().equals(key)) {
+                return param.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create a copy of this query, with the same parent, parameters and
+     * reading options, that can be changed independently.
+     *
+     * @return A copy of this query.
+     */
+    Query<T> copy() {
+        final Query<T> copy = new Query<>(service, entityClass, parent);
+        copy.params.addAll(params);
+        copy.resultType = resultType;
+        copy.canonicalizer = canonicalizer;
+        return copy;
+    }
+
     private void removeAllParams(String key) {
         for (Iterator<NameValuePair> it = params.iterator(); it.hasNext();) {
             NameValuePair param = it.next();
@@ -168,6 +206,74 @@ public class Query<T extends Entity<T>> implements QueryRequest<T>, QueryParamet
         return this;
     }
 
+    /**
+     * Read numeric results as primitives, with the type that fits the
+     * observationType of the parent Datastream. Observations read this way
+     * give their result through {@link Observation#getResultAsDouble()} or
+     * {@link Observation#getResultAsLong()} without creating a BigDecimal.
+     * Only available for Observations of a Datastream with a known
+     * observationType.
+     *
+     * @return This query.
+     */
+    public Query<T> typedResults() {
+        if (!(parent instanceof Datastream)) {
+            throw new IllegalStateException("Typed results without an observationType need a parent Datastream.");
+        }
+        final String observationType = ((Datastream) parent).getObservationType();
+        if (observationType == null) {
+            throw new IllegalStateException("The observationType of the parent Datastream is not known.");
+        }
+        return typedResults(observationType);
+    }
+
+    /**
+     * Read numeric results as primitives, with the type that fits the given
+     * observationType: double for OM_Measurement and long for
+     * OM_CountObservation. For other observationTypes results are read as
+     * usual. Only available for Observations.
+     *
+     * @param observationType The observationType of the Datastream(s) the
+     * Observations belong to.
+     * @return This query.
+     */
+    public Query<T> typedResults(String observationType) {
+        if (plural != EntityType.OBSERVATIONS) {
+            throw new IllegalStateException("Typed results are only available for Observations.");
+        }
+        resultType = NumericResult.Type.forObservationType(observationType);
+        return this;
+    }
+
+    /**
+     * Deduplicate equal strings and small values of the entities read by this
+     * query, including the pages fetched through nextLinks, with the given
+     * Canonicalizer. Overrides the Canonicalizer of the service.
+     *
+     * @param canonicalizer The Canonicalizer to use.
+     * @return This query.
+     */
+    public Query<T> canonicalize(Canonicalizer canonicalizer) {
+        this.canonicalizer = canonicalizer;
+        return this;
+    }
+
+    /**
+     * Split this query into the given number of disjoint time windows on the
+     * given time property, that can be fetched concurrently. The filter of
+     * this query is combined with the window of each partition.
+     *
+     * @param timeProperty The time property to partition on, like
+     * phenomenonTime or resultTime.
+     * @param from The start of the time range, inclusive.
+     * @param to The end of the time range, exclusive.
+     * @param parts The number of partitions.
+     * @return The partitioned query.
+     */
+    public PartitionedQuery<T> partitionByTime(String timeProperty, Instant from, Instant to, int parts) {
+        return new PartitionedQuery<>(this, timeProperty, from, to, parts);
+    }
+
     @Override
     public T first() throws ServiceFailureException {
         this.top(1);
@@ -181,29 +287,78 @@ public class Query<T extends Entity<T>> implements QueryRequest<T>, QueryParamet
     @SuppressWarnings("unchecked")
     @Override
     public EntityList<T> list() throws ServiceFailureException {
-        EntityList<T> list = new EntityList<>(plural);
+        final HttpGet httpGet = listRequest();
+        try (CloseableHttpResponse response = service.execute(httpGet)) {
+            return handleListResponse(httpGet, response);
+        } catch (IOException | JacksonException ex) {
+            throw new ServiceFailureException("Failed to fetch entities from query.", ex);
+        }
+    }
+
+    /**
+     * Asynchronously execute the query. The returned list can be used to
+     * fetch further pages as usual.
+     *
+     * @return A future that completes with the first page of the result.
+     */
+    public CompletableFuture<EntityList<T>> listAsync() {
+        final HttpGet httpGet;
+        try {
+            httpGet = listRequest();
+        } catch (ServiceFailureException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return service.executeAsync(httpGet, response -> handleListResponse(httpGet, response));
+    }
+
+    /**
+     * Execute the query with $resultFormat=dataArray. The Observations are
+     * returned as DataArrays, which is much more compact than the normal
+     * format. The returned document can follow its nextLink using
+     * {@link DataArrayDocument#fetchNext()}. Only available for Observations.
+     *
+     * @return The first page of the result, as DataArrays.
+     * @throws ServiceFailureException If the query fails.
+     */
+    public DataArrayDocument listDataArray() throws ServiceFailureException {
+        if (plural != EntityType.OBSERVATIONS) {
+            throw new IllegalStateException("The dataArray resultFormat is only available for Observations.");
+        }
+        final HttpGet httpGet = listRequest(new BasicNameValuePair("$resultFormat", "dataArray"));
+        try (CloseableHttpResponse response = service.execute(httpGet)) {
+            Utils.throwIfNotOk(httpGet, response);
+            DataArrayDocument document = DataArrayDocument.read(response);
+            document.setService(service);
+            return document;
+        } catch (IOException | JacksonException ex) {
+            throw new ServiceFailureException("Failed to fetch Observations from query.", ex);
+        }
+    }
+
+    private HttpGet listRequest(NameValuePair... extraParams) throws ServiceFailureException {
         HttpGet httpGet;
         try {
             URIBuilder uriBuilder = new URIBuilder(service.getFullPath(parent, plural).toURI());
             uriBuilder.addParameters(params);
+            for (NameValuePair param : extraParams) {
+                uriBuilder.addParameter(param.getName(), param.getValue());
+            }
             httpGet = new HttpGet(uriBuilder.build());
         } catch (URISyntaxException ex) {
             throw new ServiceFailureException("Failed to fetch entities from query.", ex);
         }
 
         LOGGER.debug("Fetching: {}", httpGet.getURI());
-        httpGet.addHeader("Accept", ContentType.APPLICATION_JSON.getMimeType());
-
-        try (CloseableHttpResponse response = service.execute(httpGet)) {
-            Utils.throwIfNotOk(httpGet, response);
-            String json = EntityUtils.toString(response.getEntity(), Consts.UTF_8);
-            final ObjectMapper mapper = ObjectMapperFactory.get();
-            list = mapper.readValue(json, plural.getTypeReference());
-        } catch (IOException ex) {
-            throw new ServiceFailureException("Failed to fetch entities from query.", ex);
-        }
+        httpGet.addHeader("Accept", service.getAcceptHeader());
+        return httpGet;
+    }
 
+    private EntityList<T> handleListResponse(HttpGet httpGet, HttpResponse response) throws StatusCodeException, IOException {
+        Utils.throwIfNotOk(httpGet, response);
+        EntityList<T> list = service.getReader(response, resultType, canonicalizer).forType(plural.getTypeReference()).readValue(response.getEntity().getContent());
         list.setService(service, entityClass);
+        list.setResultType(resultType);
+        list.setCanonicalizer(canonicalizer);
         return list;
     }
 
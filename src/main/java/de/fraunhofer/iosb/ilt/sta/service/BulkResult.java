@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.service;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The per-item report of a bulk operation, as executed by
+ * {@link SensorThingsService#executeBulk(java.util.Collection, BulkResult.Operation)}.
+ * The items are in the same order as the inputs of the operation.
+ *
+ * @author scf
+ * @param <K> The type of the inputs of the operation.
+ * @param <R> The type of the results of the operation.
+ */
+public class BulkResult<K, R> {
+
+    /**
+     * An operation that is executed for each input of a bulk operation.
+     *
+     * @param <K> The type of the inputs of the operation.
+     * @param <R> The type of the results of the operation.
+     */
+    @FunctionalInterface
+    public static interface Operation<K, R> {
+
+        public R apply(K input) throws ServiceFailureException;
+    }
+
+    /**
+     * The outcome of the operation for a single input.
+     *
+     * @param <K> The type of the input.
+     * @param <R> The type of the result.
+     */
+    public static class Item<K, R> {
+
+        private final K input;
+        private final R result;
+        private final ServiceFailureException failure;
+
+        public Item(K input, R result, ServiceFailureException failure) {
+            this.input = input;
+            this.result = result;
+            this.failure = failure;
+        }
+
+        /**
+         * @return The input the operation was executed for.
+         */
+        public K getInput() {
+            return input;
+        }
+
+        /**
+         * @return The result of the operation, null if it failed.
+         */
+        public R getResult() {
+            return result;
+        }
+
+        /**
+         * @return The reason the operation failed, null if it succeeded.
+         */
+        public ServiceFailureException getFailure() {
+            return failure;
+        }
+
+        public boolean isSuccess() {
+            return failure == null;
+        }
+
+        @Override
+        public String toString() {
+            if (failure == null) {
+                return "Success: " + input;
+            }
+            return "Failure: " + input + ": " + failure.getMessage();
+        }
+    }
+
+    private final List<Item<K, R>> items;
+
+    public BulkResult(List<Item<K, R>> items) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    /**
+     * @return All items, in the order of the inputs.
+     */
+    public List<Item<K, R>> getItems() {
+        return items;
+    }
+
+    /**
+     * @return The items for which the operation failed.
+     */
+    public List<Item<K, R>> getFailures() {
+        return items.stream()
+                .filter(item -> !item.isSuccess())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return The results of the items that succeeded, in the order of the
+     * inputs.
+     */
+    public List<R> getResults() {
+        return items.stream()
+                .filter(Item::isSuccess)
+                .map(Item::getResult)
+                .collect(Collectors.toList());
+    }
+
+    public int getSuccessCount() {
+        return items.size() - getFailureCount();
+    }
+
+    public int getFailureCount() {
+        return (int) items.stream().filter(item -> !item.isSuccess()).count();
+    }
+
+    /**
+     * @return true if the operation succeeded for all inputs.
+     */
+    public boolean isSuccess() {
+        return items.stream().allMatch(Item::isSuccess);
+    }
+
+    /**
+     * Throws the first failure, if there is one.
+     *
+     * @return this.
+     * @throws ServiceFailureException The failure of the first failed item.
+     */
+    public BulkResult<K, R> throwIfFailed() throws ServiceFailureException {
+        for (Item<K, R> item : items) {
+            if (!item.isSuccess()) {
+                throw item.getFailure();
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult: " + getSuccessCount() + " succeeded, " + getFailureCount() + " failed.";
+    }
+}
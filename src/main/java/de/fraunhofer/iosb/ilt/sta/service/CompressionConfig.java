@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.service;
+
+import java.util.zip.Deflater;
+
+/**
+ * The configuration of the compression of request bodies sent by a
+ * SensorThingsService. Set it using
+ * {@link SensorThingsService#setCompressionConfig(CompressionConfig)}.
+ *
+ * Bodies of at least the minimum size are sent gzip-compressed, with a
+ * Content-Encoding header. The server, or a proxy in front of it, must
+ * support compressed request bodies. Compressed responses are always accepted,
+ * independent of this configuration.
+ *
+ * @author scf
+ */
+public class CompressionConfig {
+
+    private int minimumSize = 2048;
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    public int getMinimumSize() {
+        return minimumSize;
+    }
+
+    /**
+     * The minimum size, in bytes, of request bodies that are compressed.
+     * Smaller bodies are sent as-is, since compressing them gains little.
+     * Defaults to 2048.
+     *
+     * @param minimumSize The minimum size of bodies to compress.
+     * @return this.
+     */
+    public CompressionConfig setMinimumSize(int minimumSize) {
+        this.minimumSize = minimumSize;
+        return this;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * The gzip compression level, from 1 (fastest) to 9 (smallest). Defaults
+     * to {@link Deflater#DEFAULT_COMPRESSION}, which is level 6.
+     *
+     * @param level The compression level.
+     * @return this.
+     */
+    public CompressionConfig setLevel(int level) {
+        if ((level < 1 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Compression level must be between 1 and 9, not " + level);
+        }
+        this.level = level;
+        return this;
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.service;
+
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+
+/**
+ * The configuration of the pool of http connections used by a
+ * SensorThingsService. Set it using
+ * {@link SensorThingsService#setConnectionPoolConfig(ConnectionPoolConfig)}.
+ *
+ * All durations are in milliseconds.
+ *
+ * @author scf
+ */
+public class ConnectionPoolConfig {
+
+    private int maxTotal = 20;
+    private int maxPerRoute = 10;
+    private long keepAlive = -1;
+    private long idleEviction = 0;
+    private int validateAfterInactivity = 2000;
+    private LayeredConnectionSocketFactory sslSocketFactory;
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * The maximum number of connections in the pool, over all routes.
+     * Defaults to 20.
+     *
+     * @param maxTotal The maximum number of connections in the pool.
+     * @return this.
+     */
+    public ConnectionPoolConfig setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * The maximum number of connections to a single host. Since a service
+     * usually talks to a single host, this limits the number of concurrent
+     * requests. Defaults to 10.
+     *
+     * @param maxPerRoute The maximum number of connections to a single host.
+     * @return this.
+     */
+    public ConnectionPoolConfig setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+        return this;
+    }
+
+    public long getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * How long idle connections are kept alive, if the server does not specify
+     * a timeout in a Keep-Alive header. Negative values keep connections alive
+     * indefinitely. Defaults to -1.
+     *
+     * @param keepAlive The keep-alive duration in milliseconds.
+     * @return this.
+     */
+    public ConnectionPoolConfig setKeepAlive(long keepAlive) {
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    public long getIdleEviction() {
+        return idleEviction;
+    }
+
+    /**
+     * If greater than 0, a background thread closes expired connections, and
+     * connections that have been idle longer than the given time. Defaults to
+     * 0, disabled.
+     *
+     * @param idleEviction The maximum idle time in milliseconds.
+     * @return this.
+     */
+    public ConnectionPoolConfig setIdleEviction(long idleEviction) {
+        this.idleEviction = idleEviction;
+        return this;
+    }
+
+    public int getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * Connections that have been inactive longer than the given time are
+     * checked before they are re-used. Defaults to 2000.
+     *
+     * @param validateAfterInactivity The inactivity period in milliseconds.
+     * @return this.
+     */
+    public ConnectionPoolConfig setValidateAfterInactivity(int validateAfterInactivity) {
+        this.validateAfterInactivity = validateAfterInactivity;
+        return this;
+    }
+
+    public LayeredConnectionSocketFactory getSslSocketFactory() {
+        return sslSocketFactory;
+    }
+
+    /**
+     * The socket factory for https connections. If null, the system default
+     * is used. Since the pool creates the connections, this replaces the
+     * SSLSocketFactory set on the client builder.
+     *
+     * @param sslSocketFactory The socket factory for https connections.
+     * @return this.
+     */
+    public ConnectionPoolConfig setSslSocketFactory(LayeredConnectionSocketFactory sslSocketFactory) {
+        this.sslSocketFactory = sslSocketFactory;
+        return this;
+    }
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.service;
+
+import de.fraunhofer.iosb.ilt.sta.model.Entity;
+import de.fraunhofer.iosb.ilt.sta.model.EntityType;
+import de.fraunhofer.iosb.ilt.sta.model.Id;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of entities, keyed by entity type and id, used by a
+ * SensorThingsService to avoid fetching the same entity over and over. Set it
+ * using {@link SensorThingsService#setEntityCache(EntityCache)}.
+ *
+ * The cache holds at most maxSize entries, evicting the least recently used
+ * entry when it is full. Entries expire after the time-to-live. Besides
+ * entities by id, the cache holds the results of navigation lookups, like the
+ * Thing of a Datastream, as links to the cached entity.
+ *
+ * Cached entities are shared by all callers, and should not be changed. Update
+ * and delete operations of the service invalidate the affected entity.
+ *
+ * @author scf
+ */
+public class EntityCache {
+
+    private static final class Key {
+
+        private final EntityType type;
+        private final Id id;
+        /**
+         * For navigation links, the type of the related entity.
+         */
+        private final EntityType related;
+
+        private Key(EntityType type, Id id, EntityType related) {
+            this.type = type;
+            this.id = id;
+            this.related = related;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + Objects.hashCode(type);
+            hash = 31 * hash + Objects.hashCode(id);
+            hash = 31 * hash + Objects.hashCode(related);
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return type == other.type && related == other.related && Objects.equals(id, other.id);
+        }
+    }
+
+    private static final class CacheEntry {
+
+        /**
+         * The cached entity, or the Key of the entity for navigation links.
+         */
+        private final Object value;
+        private final long expiresAt;
+
+        private CacheEntry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Key, CacheEntry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a cache.
+     *
+     * @param maxSize The maximum number of entries to hold.
+     * @param ttl The time after which entries expire.
+     * @param unit The unit of the ttl.
+     */
+    public EntityCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1, got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new LinkedHashMap<Key, CacheEntry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry> eldest) {
+                return size() > EntityCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the cached entity with the given type and id.
+     *
+     * @param <T> The class of the entity.
+     * @param type The type of the entity.
+     * @param id The id of the entity.
+     * @return The cached entity, or null if it is not cached.
+     */
+    public <T extends Entity<T>> T get(EntityType type, Id id) {
+        return count(lookup(new Key(type.getSingular(), id, null)));
+    }
+
+    /**
+     * Get the cached entity of the given type, that is related to the given
+     * entity, like the Thing of a Datastream.
+     *
+     * @param <T> The class of the related entity.
+     * @param entity The entity to get the related entity for.
+     * @param relatedType The type of the related entity.
+     * @return The cached related entity, or null if it is not cached.
+     */
+    public <T extends Entity<T>> T getRelated(Entity<?> entity, EntityType relatedType) {
+        if (entity.getId() == null) {
+            return null;
+        }
+        final Object link = lookup(new Key(entity.getType(), entity.getId(), relatedType.getSingular()));
+        return count(link == null ? null : lookup((Key) link));
+    }
+
+    /**
+     * Add the given entity to the cache. Entities without an id are ignored.
+     *
+     * @param entity The entity to add.
+     */
+    public void put(Entity<?> entity) {
+        if (entity.getId() == null) {
+            return;
+        }
+        store(keyOf(entity), entity);
+    }
+
+    /**
+     * Add the given related entity to the cache, and remember it as the
+     * related entity of the given entity. If an entity with the same id is
+     * already cached, that instance is kept, so that many entities, like the
+     * Observations of one Datastream, share the same related instance.
+     *
+     * @param <T> The class of the related entity.
+     * @param entity The entity the related entity was found through.
+     * @param related The related entity.
+     * @return The cached instance of the related entity.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity<?>> T putRelated(Entity<?> entity, T related) {
+        if (entity.getId() == null || related.getId() == null) {
+            return related;
+        }
+        final Key relatedKey = keyOf(related);
+        T result = (T) lookup(relatedKey);
+        if (result == null) {
+            result = related;
+            store(relatedKey, related);
+        }
+        store(new Key(entity.getType(), entity.getId(), related.getType()), relatedKey);
+        return result;
+    }
+
+    /**
+     * Remove the entity with the given type and id from the cache, together
+     * with the navigation links from the entity to its related entities, since
+     * its relations may have changed. Navigation links to the entity no longer
+     * resolve.
+     *
+     * @param type The type of the entity.
+     * @param id The id of the entity.
+     */
+    public void invalidate(EntityType type, Id id) {
+        final EntityType singular = type.getSingular();
+        synchronized (entries) {
+            entries.remove(new Key(singular, id, null));
+            for (EntityType related : EntityType.values()) {
+                if (!related.isList()) {
+                    entries.remove(new Key(singular, id, related));
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the given entity from the cache.
+     *
+     * @param entity The entity to remove.
+     */
+    public void invalidate(Entity<?> entity) {
+        if (entity.getId() != null) {
+            invalidate(entity.getType(), entity.getId());
+        }
+    }
+
+    /**
+     * Remove all entries from the cache. The statistics are not reset.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * The number of entries, entities and navigation links, in the cache.
+     * This may include expired entries that have not been removed yet.
+     *
+     * @return The number of entries in the cache.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * The number of lookups that found a cached entity.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * The number of lookups that did not find a cached entity.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * The fraction of lookups that found a cached entity.
+     *
+     * @return The hit rate, between 0 and 1, or 0 if there were no lookups.
+     */
+    public double getHitRate() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private static Key keyOf(Entity<?> entity) {
+        return new Key(entity.getType(), entity.getId(), null);
+    }
+
+    private void store(Key key, Object value) {
+        final CacheEntry entry = new CacheEntry(value, System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private Object lookup(Key key) {
+        synchronized (entries) {
+            final CacheEntry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAt >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Entity<T>> T count(Object value) {
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return (T) value;
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces concurrent, identical GET requests of a SensorThingsService. Set
+ * it using {@link SensorThingsService#setRequestCoalescer(RequestCoalescer)}.
+ *
+ * When a GET request is executed while a request for the same URL, with the
+ * same Accept header, is already in flight, no second request is sent to the
+ * server. Instead the caller waits for the request in flight, and gets its
+ * own copy of the response. Since each caller parses its own copy, callers
+ * never share entity instances. To make this possible, the responses of
+ * coalesced GET requests are fully read into memory.
+ *
+ * @author scf
+ */
+public class RequestCoalescer {
+
+    /**
+     * The logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    /**
+     * A fully read response, that can be handed out to several callers.
+     */
+    private static final class BufferedResponse {
+
+        private final StatusLine statusLine;
+        private final Header[] headers;
+        private final byte[] body;
+        private final Header contentType;
+        private final Header contentEncoding;
+
+        private BufferedResponse(CloseableHttpResponse response) throws IOException {
+            statusLine = response.getStatusLine();
+            headers = response.getAllHeaders();
+            final HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                body = null;
+                contentType = null;
+                contentEncoding = null;
+            } else {
+                body = EntityUtils.toByteArray(entity);
+                contentType = entity.getContentType();
+                contentEncoding = entity.getContentEncoding();
+            }
+        }
+
+        private CloseableHttpResponse toResponse() {
+            final BufferedHttpResponse response = new BufferedHttpResponse(statusLine);
+            response.setHeaders(headers);
+            if (body != null) {
+                final ByteArrayEntity entity = new ByteArrayEntity(body);
+                entity.setContentType(contentType);
+                entity.setContentEncoding(contentEncoding);
+                response.setEntity(entity);
+                response.setHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length));
+            }
+            return response;
+        }
+    }
+
+    /**
+     * A copy of a buffered response. There is no connection to release, so
+     * closing it does nothing.
+     */
+    private static final class BufferedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        private BufferedHttpResponse(StatusLine statusLine) {
+            super(statusLine);
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release.
+        }
+    }
+
+    private final ConcurrentHashMap<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * The number of GET requests that were sent to the server.
+     *
+     * @return The number of GET requests that were sent to the server.
+     */
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    /**
+     * The number of GET requests that were not sent to the server, because an
+     * identical request was in flight.
+     *
+     * @return The number of coalesced GET requests.
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * The number of distinct GET requests currently in flight.
+     *
+     * @return The number of distinct GET requests currently in flight.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Execute the given request, or wait for an identical request that is
+     * already in flight.
+     *
+     * @param request The request, already prepared for sending.
+     * @param executor The executor that sends the request.
+     * @return The response, or a copy of the response of the identical
+     * request.
+     * @throws IOException If sending the request fails.
+     */
+    CloseableHttpResponse execute(HttpRequestBase request, ResponseCache.RequestExecutor executor) throws IOException {
+        if (!HttpGet.METHOD_NAME.equals(request.getMethod())) {
+            return executor.execute();
+        }
+        final String key = keyFor(request);
+        final CompletableFuture<BufferedResponse> own = new CompletableFuture<>();
+        final CompletableFuture<BufferedResponse> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            LOGGER.debug("Joining request in flight: {}", request.getURI());
+            return await(existing).toResponse();
+        }
+        sent.increment();
+        Throwable failure = null;
+        try {
+            final BufferedResponse buffered;
+            try (CloseableHttpResponse response = executor.execute()) {
+                buffered = new BufferedResponse(response);
+            }
+            own.complete(buffered);
+            return buffered.toResponse();
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            inFlight.remove(key, own);
+            if (!own.isDone()) {
+                // Also for Errors, so that waiting callers never block forever.
+                own.completeExceptionally(failure == null ? new IOException("Request ended without a response.") : failure);
+            }
+        }
+    }
+
+    private static BufferedResponse await(CompletableFuture<BufferedResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for request in flight.");
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private static String keyFor(HttpRequestBase request) {
+        final Header accept = request.getFirstHeader(HttpHeaders.ACCEPT);
+        return request.getURI().toString() + '\n' + (accept == null ? "" : accept.getValue());
+    }
+
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.fraunhofer.iosb.ilt.sta.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of GET responses, used by a SensorThingsService to avoid
+ * downloading response bodies that did not change. Set it using
+ * {@link SensorThingsService#setResponseCache(ResponseCache)}.
+ *
+ * Responses that carry an ETag or Last-Modified header are stored. When the
+ * same URL is requested again, with the same Accept header, the request is
+ * sent with If-None-Match and If-Modified-Since headers. If the server answers
+ * with 304 Not Modified, the stored body is returned. Since every use of a
+ * stored response is revalidated with the server, the cache never returns
+ * outdated data.
+ *
+ * Responses are held in a bounded memory tier. If a disk tier is configured,
+ * responses evicted from memory are written to disk, up to a maximum number of
+ * files, and read back when needed. The disk tier survives restarts of the
+ * application. Files are read and written outside the lock of the cache, so
+ * slow disks do not block other requests.
+ *
+ * @author scf
+ */
+public class ResponseCache {
+
+    /**
+     * The logger for this class.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseCache.class);
+
+    private static final String FILE_SUFFIX = ".response";
+
+    /**
+     * Executes a request, for the cache to wrap.
+     */
+    interface RequestExecutor {
+
+        CloseableHttpResponse execute() throws IOException;
+    }
+
+    private static final class CachedResponse {
+
+        private final String key;
+        private final String etag;
+        private final String lastModified;
+        private final String contentType;
+        private final byte[] body;
+
+        private CachedResponse(String key, String etag, String lastModified, String contentType, byte[] body) {
+            this.key = key;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        private CloseableHttpResponse toResponse() {
+            final CachedHttpResponse response = new CachedHttpResponse();
+            final ByteArrayEntity entity = new ByteArrayEntity(body);
+            if (!contentType.isEmpty()) {
+                entity.setContentType(contentType);
+                response.setHeader(HttpHeaders.CONTENT_TYPE, contentType);
+            }
+            if (!etag.isEmpty()) {
+                response.setHeader(HttpHeaders.ETAG, etag);
+            }
+            if (!lastModified.isEmpty()) {
+                response.setHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+            }
+            response.setEntity(entity);
+            return response;
+        }
+
+        private void writeTo(OutputStream out) throws IOException {
+            final DataOutputStream data = new DataOutputStream(out);
+            data.writeUTF(key);
+            data.writeUTF(etag);
+            data.writeUTF(lastModified);
+            data.writeUTF(contentType);
+            data.writeInt(body.length);
+            data.write(body);
+            data.flush();
+        }
+
+        private static CachedResponse readFrom(InputStream in) throws IOException {
+            final DataInputStream data = new DataInputStream(in);
+            final String key = data.readUTF();
+            final String etag = data.readUTF();
+            final String lastModified = data.readUTF();
+            final String contentType = data.readUTF();
+            final byte[] body = new byte[data.readInt()];
+            data.readFully(body);
+            return new CachedResponse(key, etag, lastModified, contentType, body);
+        }
+    }
+
+    /**
+     * A response served from the cache. There is no connection to release, so
+     * closing it does nothing.
+     */
+    private static final class CachedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        private CachedHttpResponse() {
+            super(new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK"));
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release.
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final int maxEntrySize;
+    private final LinkedHashMap<String, CachedResponse> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+
+    private Path diskDirectory;
+    private int maxDiskEntries;
+    /**
+     * The files of the disk tier, by file name, in order of last use.
+     */
+    private final LinkedHashMap<String, Path> disk = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a memory-only cache.
+     *
+     * @param maxEntries The maximum number of responses to hold in memory.
+     * @param maxBytes The maximum total size, in bytes, of the response bodies
+     * held in memory. Larger responses are not cached.
+     */
+    public ResponseCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("maxEntries and maxBytes must be positive.");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxEntrySize = (int) Math.min(Integer.MAX_VALUE - 8, maxBytes);
+    }
+
+    /**
+     * Add a disk tier to this cache. Responses evicted from memory are written
+     * to files in the given directory. Files written by an earlier instance
+     * are used too.
+     *
+     * @param directory The directory to store responses in. Created if it
+     * does not exist.
+     * @param maxEntries The maximum number of responses to hold on disk.
+     * @return this.
+     * @throws IOException If the directory can not be created or read.
+     */
+    public ResponseCache setDiskTier(Path directory, int maxEntries) throws IOException {
+        Files.createDirectories(directory);
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(ResponseCache::lastModified));
+        final List<Path> trimmed;
+        synchronized (this) {
+            this.diskDirectory = directory;
+            this.maxDiskEntries = maxEntries;
+            disk.clear();
+            for (Path file : files) {
+                disk.put(file.getFileName().toString(), file);
+            }
+            trimmed = trimDisk();
+        }
+        trimmed.forEach(ResponseCache::deleteQuietly);
+        return this;
+    }
+
+    /**
+     * The number of requests that were answered from the cache, after the
+     * server confirmed that the response was not modified.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * The number of cacheable requests for which the full response was
+     * downloaded.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * The number of responses held in memory.
+     *
+     * @return The number of responses held in memory.
+     */
+    public synchronized int getMemoryEntryCount() {
+        return memory.size();
+    }
+
+    /**
+     * The number of responses held on disk.
+     *
+     * @return The number of responses held on disk.
+     */
+    public synchronized int getDiskEntryCount() {
+        return disk.size();
+    }
+
+    /**
+     * Remove all responses from the cache, from memory and from disk.
+     */
+    public void invalidateAll() {
+        final List<Path> files;
+        synchronized (this) {
+            memory.clear();
+            memoryBytes = 0;
+            files = new ArrayList<>(disk.values());
+            disk.clear();
+        }
+        files.forEach(ResponseCache::deleteQuietly);
+    }
+
+    /**
+     * Execute the given request through the cache.
+     *
+     * @param request The request, already prepared for sending.
+     * @param executor The executor that sends the request.
+     * @return The response, from the server or from the cache.
+     * @throws IOException If sending the request fails.
+     */
+    CloseableHttpResponse execute(HttpRequestBase request, RequestExecutor executor) throws IOException {
+        if (!HttpGet.METHOD_NAME.equals(request.getMethod())) {
+            return executor.execute();
+        }
+        final String key = keyFor(request);
+        final CachedResponse cached = get(key);
+        if (cached != null) {
+            if (!cached.etag.isEmpty()) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag);
+            }
+            if (!cached.lastModified.isEmpty()) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+        final CloseableHttpResponse response = executor.execute();
+        final int status = response.getStatusLine().getStatusCode();
+        if (status == HttpStatus.SC_NOT_MODIFIED && cached != null) {
+            EntityUtils.consumeQuietly(response.getEntity());
+            response.close();
+            hits.increment();
+            LOGGER.debug("Not modified: {}", request.getURI());
+            put(cached);
+            return cached.toResponse();
+        }
+        if (status != HttpStatus.SC_OK) {
+            return response;
+        }
+        misses.increment();
+        final String etag = headerValue(response, HttpHeaders.ETAG);
+        final String lastModified = headerValue(response, HttpHeaders.LAST_MODIFIED);
+        final HttpEntity entity = response.getEntity();
+        if (etag.isEmpty() && lastModified.isEmpty() || entity == null || entity.getContentLength() > maxEntrySize) {
+            if (cached != null) {
+                remove(key);
+            }
+            return response;
+        }
+        final InputStream content;
+        final byte[] body;
+        try {
+            content = entity.getContent();
+            body = readAtMost(content, entity.getContentLength(), maxEntrySize + 1L);
+        } catch (IOException | RuntimeException ex) {
+            response.close();
+            throw ex;
+        }
+        if (body.length > maxEntrySize) {
+            // Too large to cache, stream the rest of the body.
+            if (cached != null) {
+                remove(key);
+            }
+            final InputStreamEntity streaming = new InputStreamEntity(new SequenceInputStream(new ByteArrayInputStream(body), content));
+            streaming.setContentType(entity.getContentType());
+            response.setEntity(streaming);
+            return response;
+        }
+        if (content != null) {
+            content.close();
+        }
+        final String contentType = entity.getContentType() == null ? "" : entity.getContentType().getValue();
+        put(new CachedResponse(key, etag, lastModified, contentType, body));
+        final ByteArrayEntity buffered = new ByteArrayEntity(body);
+        buffered.setContentType(entity.getContentType());
+        response.setEntity(buffered);
+        return response;
+    }
+
+    /**
+     * Reads the given stream, up to the given number of bytes, or until it
+     * ends.
+     *
+     * @param content The stream to read.
+     * @param expectedLength The expected length, or a negative value if
+     * unknown.
+     * @param limit The maximum number of bytes to read.
+     * @return The bytes read.
+     * @throws IOException If reading fails.
+     */
+    private static byte[] readAtMost(InputStream content, long expectedLength, long limit) throws IOException {
+        if (content == null) {
+            return new byte[0];
+        }
+        final int initialSize = expectedLength >= 0 ? (int) Math.min(expectedLength, limit) : 8192;
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(initialSize);
+        final byte[] chunk = new byte[8192];
+        long remaining = limit;
+        int read;
+        while (remaining > 0 && (read = content.read(chunk, 0, (int) Math.min(chunk.length, remaining))) != -1) {
+            buffer.write(chunk, 0, read);
+            remaining -= read;
+        }
+        return buffer.toByteArray();
+    }
+
+    private static String keyFor(HttpRequestBase request) {
+        return request.getURI().toString() + '\n' + headerValue(request.getFirstHeader(HttpHeaders.ACCEPT));
+    }
+
+    private static String headerValue(CloseableHttpResponse response, String name) {
+        return headerValue(response.getFirstHeader(name));
+    }
+
+    private static String headerValue(Header header) {
+        return header == null ? "" : header.getValue();
+    }
+
+    private CachedResponse get(String key) {
+        final String name = fileName(key);
+        final Path file;
+        synchronized (this) {
+            final CachedResponse inMemory = memory.get(key);
+            if (inMemory != null || diskDirectory == null) {
+                return inMemory;
+            }
+            file = disk.get(name);
+        }
+        if (file == null) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            final CachedResponse fromDisk = CachedResponse.readFrom(in);
+            if (!fromDisk.key.equals(key)) {
+                return null;
+            }
+            return fromDisk;
+        } catch (IOException ex) {
+            LOGGER.warn("Failed to read cached response from {}", file, ex);
+            synchronized (this) {
+                disk.remove(name, file);
+            }
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    private void put(CachedResponse response) {
+        final List<CachedResponse> evicted = new ArrayList<>();
+        synchronized (this) {
+            final CachedResponse old = memory.put(response.key, response);
+            if (old != null) {
+                memoryBytes -= old.body.length;
+            }
+            memoryBytes += response.body.length;
+            final Iterator<CachedResponse> it = memory.values().iterator();
+            while ((memory.size() > maxEntries || memoryBytes > maxBytes) && it.hasNext()) {
+                final CachedResponse eldest = it.next();
+                it.remove();
+                memoryBytes -= eldest.body.length;
+                evicted.add(eldest);
+            }
+        }
+        evicted.forEach(this::writeToDisk);
+    }
+
+    private void remove(String key) {
+        final Path file;
+        synchronized (this) {
+            final CachedResponse old = memory.remove(key);
+            if (old != null) {
+                memoryBytes -= old.body.length;
+            }
+            if (diskDirectory == null) {
+                return;
+            }
+            file = disk.remove(fileName(key));
+        }
+        if (file != null) {
+            deleteQuietly(file);
+        }
+    }
+
+    private void writeToDisk(CachedResponse response) {
+        final Path directory;
+        synchronized (this) {
+            directory = diskDirectory;
+        }
+        if (directory == null) {
+            return;
+        }
+        final String name = fileName(response.key);
+        final Path file = directory.resolve(name);
+        Path temp = null;
+        try {
+            // Write to a temporary file first, so readers never see a partial file.
+            temp = Files.createTempFile(directory, "response", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                response.writeTo(out);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            LOGGER.warn("Failed to write cached response to {}", file, ex);
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+            return;
+        }
+        final List<Path> trimmed;
+        synchronized (this) {
+            disk.put(name, file);
+            trimmed = trimDisk();
+        }
+        trimmed.forEach(ResponseCache::deleteQuietly);
+    }
+
+    /**
+     * Removes the least recently used files from the disk tier, until it holds
+     * at most maxDiskEntries. Must be called while holding the lock, the
+     * returned files must be deleted after releasing it.
+     *
+     * @return The files to delete.
+     */
+    private List<Path> trimDisk() {
+        final List<Path> trimmed = new ArrayList<>();
+        final Iterator<Path> it = disk.values().iterator();
+        while (disk.size() > maxDiskEntries && it.hasNext()) {
+            trimmed.add(it.next());
+            it.remove();
+        }
+        return trimmed;
+    }
+
+    private static String fileName(String key) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8))) + FILE_SUFFIX;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available.", ex);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException ex) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            LOGGER.debug("Failed to delete {}", file, ex);
+        }
+    }
+
+}
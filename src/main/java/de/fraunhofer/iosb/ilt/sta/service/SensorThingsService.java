@@ -30,6 +30,7 @@ import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
 import de.fraunhofer.iosb.ilt.sta.StatusCodeException;
 import de.fraunhofer.iosb.ilt.sta.Utils;
 import de.fraunhofer.iosb.ilt.sta.dao.ActuatorDao;
+import de.fraunhofer.iosb.ilt.sta.dao.BatchRequest;
 import de.fraunhofer.iosb.ilt.sta.dao.DatastreamDao;
 import de.fraunhofer.iosb.ilt.sta.dao.FeatureOfInterestDao;
 import de.fraunhofer.iosb.ilt.sta.dao.HistoricalLocationDao;
@@ -41,34 +42,80 @@ import de.fraunhofer.iosb.ilt.sta.dao.SensorDao;
 import de.fraunhofer.iosb.ilt.sta.dao.TaskDao;
 import de.fraunhofer.iosb.ilt.sta.dao.TaskingCapabilityDao;
 import de.fraunhofer.iosb.ilt.sta.dao.ThingDao;
+import de.fraunhofer.iosb.ilt.sta.jackson.Canonicalizer;
+import de.fraunhofer.iosb.ilt.sta.jackson.DataFormat;
 import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
 import de.fraunhofer.iosb.ilt.sta.model.Entity;
 import de.fraunhofer.iosb.ilt.sta.model.EntityType;
 import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayDocument;
+import de.fraunhofer.iosb.ilt.sta.model.ext.LazyValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericResult;
 import de.fraunhofer.iosb.ilt.sta.service.ServerSettings.Extension;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Consts;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.ParseException;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.DeflateDecompressingEntity;
+import org.apache.http.client.entity.GzipDecompressingEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
 import org.eclipse.paho.client.mqttv3.MqttCallback;
@@ -78,23 +125,41 @@ import org.slf4j.LoggerFactory;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
 
 /**
  * A SensorThingsService represents the service endpoint of a server.
  *
  * @author Nils Sommer, Hylke van der Schaaf, Michael Jacoby
  */
-public class SensorThingsService implements MqttCallback {
+public class SensorThingsService implements MqttCallback, AutoCloseable {
 
     /**
      * The logger for this class.
      */
     private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(SensorThingsService.class);
+    private static final AtomicInteger ASYNC_THREAD_COUNTER = new AtomicInteger();
 
     private URL endpoint;
     private String urlReplace;
     private HttpClientBuilder clientBuilder;
     private CloseableHttpClient httpClient;
+    private HttpAsyncClientBuilder asyncClientBuilder;
+    private CloseableHttpAsyncClient asyncHttpClient;
+    private Executor asyncExecutor = ForkJoinPool.commonPool();
+    private int bulkParallelism = 1;
+    private ConnectionPoolConfig connectionPoolConfig;
+    private CompressionConfig compressionConfig;
+    private volatile DataFormat dataFormat = DataFormat.JSON;
+    private boolean lazyDecoding;
+    private Canonicalizer canonicalizer;
+    private EntityCache entityCache;
+    private ResponseCache responseCache;
+    private RequestCoalescer requestCoalescer;
+    private volatile PoolingHttpClientConnectionManager connectionManager;
+    private IdleConnectionEvictor connectionEvictor;
+    private boolean poolConfigApplied;
+    private boolean asyncPoolConfigApplied;
     private TokenManager tokenManager;
     private MqttClient mqttClient;
     private MqttConfig mqttConfig;
@@ -299,6 +364,391 @@ public class SensorThingsService implements MqttCallback {
      * @throws IOException in case of problems.
      */
     public CloseableHttpResponse execute(HttpRequestBase request) throws IOException {
+        final CloseableHttpClient client = getHttpClient();
+        prepareRequest(request);
+        final RequestCoalescer coalescer = requestCoalescer;
+        if (coalescer != null) {
+            return coalescer.execute(request, () -> executeCached(client, request));
+        }
+        return executeCached(client, request);
+    }
+
+    private CloseableHttpResponse executeCached(CloseableHttpClient client, HttpRequestBase request) throws IOException {
+        final ResponseCache cache = responseCache;
+        if (cache != null) {
+            return cache.execute(request, () -> executePrepared(client, request));
+        }
+        return executePrepared(client, request);
+    }
+
+    private CloseableHttpResponse executePrepared(CloseableHttpClient client, HttpRequestBase request) throws IOException {
+        final CloseableHttpResponse response = client.execute(request);
+        if (fallBackToJson(request, response)) {
+            EntityUtils.consumeQuietly(response.getEntity());
+            response.close();
+            return client.execute(request);
+        }
+        return response;
+    }
+
+    /**
+     * Execute the given request asynchronously, adding a token header if
+     * needed. The request is executed by the non-blocking client returned by
+     * {@link #getAsyncHttpClient()}. Once the response is received, it is
+     * handed to the given processor on the executor set with
+     * {@link #setAsyncExecutor(java.util.concurrent.Executor)}, so that
+     * parsing does not block the I/O threads of the client.
+     *
+     * The returned future completes exceptionally with a
+     * ServiceFailureException if the request or the processor fails.
+     *
+     * Unlike the blocking client, the asynchronous client reads the complete
+     * response body into memory before it is handed to the processor. For
+     * very large responses, use the blocking methods, that parse the body
+     * while it is streamed.
+     *
+     * @param <R> The type of the result.
+     * @param request The request to execute.
+     * @param processor The processor that turns the response into a result.
+     * @return A future that completes with the result of the processor.
+     */
+    public <R> CompletableFuture<R> executeAsync(HttpRequestBase request, ResponseProcessor<R> processor) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        try {
+            prepareRequest(request);
+        } catch (IOException ex) {
+            result.completeExceptionally(new ServiceFailureException("Failed to prepare request.", ex));
+            return result;
+        }
+        executeAsync(request, processor, result);
+        return result;
+    }
+
+    private <R> void executeAsync(HttpRequestBase request, ResponseProcessor<R> processor, CompletableFuture<R> result) {
+        if (!request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip,deflate");
+        }
+        getAsyncHttpClient().execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                decompress(response);
+                try {
+                    if (fallBackToJson(request, response)) {
+                        EntityUtils.consumeQuietly(response.getEntity());
+                        executeAsync(request, processor, result);
+                        return;
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    result.completeExceptionally(new ServiceFailureException("Failed to fall back to JSON.", ex));
+                    return;
+                }
+                try {
+                    asyncExecutor.execute(() -> processAsync(response, processor, result));
+                } catch (RejectedExecutionException ex) {
+                    result.completeExceptionally(new ServiceFailureException("Failed to process response.", ex));
+                }
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                result.completeExceptionally(new ServiceFailureException("Failed to execute request " + request.getURI(), ex));
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+    }
+
+    /**
+     * The blocking client decompresses responses itself, the asynchronous
+     * client does not. This wraps the entity of compressed responses, so that
+     * the parser reads the decompressed stream.
+     */
+    private static void decompress(HttpResponse response) {
+        final HttpEntity entity = response.getEntity();
+        if (entity == null || entity.getContentEncoding() == null) {
+            return;
+        }
+        final String encoding = entity.getContentEncoding().getValue().trim().toLowerCase(Locale.ROOT);
+        switch (encoding) {
+            case "gzip":
+            case "x-gzip":
+                response.setEntity(new GzipDecompressingEntity(entity));
+                break;
+
+            case "deflate":
+                response.setEntity(new DeflateDecompressingEntity(entity));
+                break;
+
+            default:
+                return;
+        }
+        response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+        response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    private static <R> void processAsync(HttpResponse response, ResponseProcessor<R> processor, CompletableFuture<R> result) {
+        try {
+            result.complete(processor.process(response));
+        } catch (ServiceFailureException ex) {
+            result.completeExceptionally(ex);
+        } catch (IOException | RuntimeException ex) {
+            result.completeExceptionally(new ServiceFailureException("Failed to process response.", ex));
+        }
+    }
+
+    /**
+     * Checks if the server refused the binary data format used by the given
+     * request. If so, the service switches to JSON, and the request is changed
+     * to ask for, and send, JSON so that it can be executed again.
+     *
+     * @param request The request that was executed.
+     * @param response The response of the server to the request.
+     * @return true if the request was changed and should be executed again.
+     * @throws IOException If the body of the request can not be converted.
+     */
+    private boolean fallBackToJson(HttpRequestBase request, HttpResponse response) throws IOException {
+        final int status = response.getStatusLine().getStatusCode();
+        if (status != HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE && status != HttpStatus.SC_NOT_ACCEPTABLE) {
+            return false;
+        }
+        HttpEntity body = null;
+        if (request instanceof HttpEntityEnclosingRequest) {
+            body = ((HttpEntityEnclosingRequest) request).getEntity();
+        }
+        final DataFormat bodyFormat = DataFormat.of(body);
+        final Header accept = request.getFirstHeader("Accept");
+        final boolean binaryAccept = accept != null && DataFormat.forMimeType(StringUtils.substringBefore(accept.getValue(), ",")).isBinary();
+        if (!bodyFormat.isBinary() && !binaryAccept) {
+            return false;
+        }
+        LOGGER.warn("Server refused binary format for {} with status {}, falling back to JSON.", request.getURI(), status);
+        dataFormat = DataFormat.JSON;
+        if (binaryAccept) {
+            request.setHeader("Accept", DataFormat.JSON.getAcceptHeader());
+        }
+        if (bodyFormat.isBinary()) {
+            final HttpEntity plainBody = isGzipped(body) ? new GzipDecompressingEntity(body) : body;
+            final JsonNode tree = bodyFormat.getMapper().readTree(plainBody.getContent());
+            final String json = ObjectMapperFactory.get().writeValueAsString(tree);
+            ((HttpEntityEnclosingRequest) request).setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+            compress(request);
+        }
+        return true;
+    }
+
+    /**
+     * Creates a request body holding the given value, in the data format of
+     * this service.
+     *
+     * @param value The value to serialise into the body.
+     * @return The request body.
+     * @throws JacksonException If the value can not be serialised.
+     */
+    public HttpEntity createEntity(Object value) throws JacksonException {
+        final DataFormat format = dataFormat;
+        if (format.isBinary()) {
+            return new ByteArrayEntity(format.getMapper().writeValueAsBytes(value), format.getContentType());
+        }
+        return new StringEntity(ObjectMapperFactory.get().writeValueAsString(value), ContentType.APPLICATION_JSON);
+    }
+
+    /**
+     * The data format used for request bodies and preferred for responses.
+     * This changes to JSON when the server refuses a binary format.
+     *
+     * @return The data format of this service.
+     */
+    public DataFormat getDataFormat() {
+        return dataFormat;
+    }
+
+    /**
+     * Set the data format to use for request bodies and to request for
+     * responses. The binary formats, Smile and CBOR, are smaller and faster to
+     * parse than JSON, but need support from the server. Responses are always
+     * parsed according to their Content-Type, and if the server refuses a
+     * binary format with status 406 or 415, the service falls back to JSON.
+     * The default is JSON.
+     *
+     * @param dataFormat The data format to use.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setDataFormat(DataFormat dataFormat) {
+        this.dataFormat = Objects.requireNonNull(dataFormat);
+        return this;
+    }
+
+    /**
+     * Creates a reader for the body of the given response, for the data format
+     * of the response and with the decoding settings of this service.
+     *
+     * @param response The response to create a reader for.
+     * @return A reader for the body of the response.
+     */
+    public ObjectReader getReader(HttpResponse response) {
+        return getReader(response, null);
+    }
+
+    /**
+     * Creates a reader for the body of the given response, for the data format
+     * of the response and with the decoding settings of this service. If a
+     * result type is given, numeric Observation results are read as
+     * primitives of that type.
+     *
+     * @param response The response to create a reader for.
+     * @param resultType The primitive type to read numeric Observation
+     * results into, or null to read them as BigDecimal.
+     * @return A reader for the body of the response.
+     */
+    public ObjectReader getReader(HttpResponse response, NumericResult.Type resultType) {
+        return getReader(response, resultType, null);
+    }
+
+    /**
+     * Creates a reader for the body of the given response, for the data format
+     * of the response and with the decoding settings of this service. If a
+     * result type is given, numeric Observation results are read as
+     * primitives of that type. If a Canonicalizer is given, it is used instead
+     * of the Canonicalizer of this service.
+     *
+     * @param response The response to create a reader for.
+     * @param resultType The primitive type to read numeric Observation
+     * results into, or null to read them as BigDecimal.
+     * @param canonicalizer The Canonicalizer to use, or null to use the one of
+     * this service.
+     * @return A reader for the body of the response.
+     */
+    public ObjectReader getReader(HttpResponse response, NumericResult.Type resultType, Canonicalizer canonicalizer) {
+        ObjectReader reader = DataFormat.of(response).getMapper().reader();
+        if (lazyDecoding) {
+            reader = reader.withAttribute(LazyValue.ATTRIBUTE_LAZY_DECODING, Boolean.TRUE);
+        }
+        if (resultType != null) {
+            reader = reader.withAttribute(NumericResult.ATTRIBUTE_RESULT_TYPE, resultType);
+        }
+        final Canonicalizer effective = canonicalizer == null ? this.canonicalizer : canonicalizer;
+        if (effective != null) {
+            reader = reader.withAttribute(Canonicalizer.ATTRIBUTE_CANONICALIZER, effective);
+        }
+        return reader;
+    }
+
+    /**
+     * Whether the result, resultQuality and parameters of Observations are
+     * decoded lazily.
+     *
+     * @return true if Observation results are decoded lazily.
+     */
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
+    /**
+     * Set whether the result, resultQuality and parameters of Observations
+     * read from the service are decoded lazily. When enabled, these values are
+     * kept as buffered tokens, and only turned into Java objects when they
+     * are accessed. Observations that are written back to a service, without
+     * accessing these values, write the buffered tokens unchanged. This saves
+     * decoding work and memory when only some fields of Observations are used.
+     * The default is false.
+     *
+     * @param lazyDecoding true to decode Observation results lazily.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setLazyDecoding(boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
+    public Canonicalizer getCanonicalizer() {
+        return canonicalizer;
+    }
+
+    /**
+     * Set the Canonicalizer used for all entities read from this service.
+     * Equal strings of the read entities, like names, observationTypes, the
+     * fields of UnitOfMeasurements and property values, then share one
+     * instance. Only strings are canonicalized, mutable objects like
+     * UnitOfMeasurements and maps are never shared. This saves memory when
+     * many entities are kept. The default is null, no canonicalization.
+     *
+     * @param canonicalizer The Canonicalizer to use, or null.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setCanonicalizer(Canonicalizer canonicalizer) {
+        this.canonicalizer = canonicalizer;
+        return this;
+    }
+
+    public EntityCache getEntityCache() {
+        return entityCache;
+    }
+
+    /**
+     * Set the cache used by find operations, and the navigation getters of
+     * entities, like {@link de.fraunhofer.iosb.ilt.sta.model.Datastream#getThing()}.
+     * Entities found in the cache are not fetched from the server again. The
+     * default is null, no caching.
+     *
+     * @param entityCache The cache to use, or null.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setEntityCache(EntityCache entityCache) {
+        this.entityCache = entityCache;
+        return this;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Set the cache for GET responses. Stored responses are revalidated with
+     * the server using If-None-Match and If-Modified-Since, and their body is
+     * not downloaded again if the server answers 304 Not Modified. Only used
+     * by {@link #execute(HttpRequestBase)}. The default is null, no caching.
+     *
+     * @param responseCache The cache to use, or null.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Set the coalescer for concurrent, identical GET requests. While a GET
+     * request is in flight, identical GET requests from other threads wait
+     * for it and get a copy of its response, instead of sending their own.
+     * Only used by {@link #execute(HttpRequestBase)}. The default is null, no
+     * coalescing.
+     *
+     * @param requestCoalescer The coalescer to use, or null.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setRequestCoalescer(RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+        return this;
+    }
+
+    /**
+     * The value for the Accept header of requests, based on the data format of
+     * this service.
+     *
+     * @return The value for the Accept header.
+     */
+    public String getAcceptHeader() {
+        return dataFormat.getAcceptHeader();
+    }
+
+    private void prepareRequest(HttpRequestBase request) throws IOException {
         final String urlString = request.getURI().toString();
         if (urlReplace != null && urlString.startsWith(urlReplace)) {
             final String newUrlString = endpoint.toString() + urlString.substring(urlReplace.length());
@@ -309,12 +759,75 @@ public class SensorThingsService implements MqttCallback {
                 throw new IOException("Failed to replace start of URL", ex);
             }
         }
-        final CloseableHttpClient client = getHttpClient();
         setTimeouts(request);
+        compress(request);
         if (tokenManager != null) {
             tokenManager.addAuthHeader(request);
         }
-        return client.execute(request);
+    }
+
+    /**
+     * Compresses the body of the given request, if a CompressionConfig is set
+     * and the body is large enough.
+     */
+    private void compress(HttpRequestBase request) throws IOException {
+        final CompressionConfig config = compressionConfig;
+        if (config == null || !(request instanceof HttpEntityEnclosingRequest)) {
+            return;
+        }
+        final HttpEntity body = ((HttpEntityEnclosingRequest) request).getEntity();
+        if (body == null || body.getContentEncoding() != null || body.getContentLength() < config.getMinimumSize()) {
+            return;
+        }
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) (body.getContentLength() / 4) + 64);
+        try (GZIPOutputStream gzip = new LeveledGZIPOutputStream(buffer, config.getLevel())) {
+            body.writeTo(gzip);
+        }
+        final ByteArrayEntity compressed = new ByteArrayEntity(buffer.toByteArray());
+        compressed.setContentType(body.getContentType());
+        compressed.setContentEncoding("gzip");
+        LOGGER.debug("Compressed request body from {} to {} bytes.", body.getContentLength(), compressed.getContentLength());
+        ((HttpEntityEnclosingRequest) request).setEntity(compressed);
+    }
+
+    private static boolean isGzipped(HttpEntity entity) {
+        return entity.getContentEncoding() != null && "gzip".equalsIgnoreCase(entity.getContentEncoding().getValue());
+    }
+
+    /**
+     * A GZIPOutputStream that uses the given compression level.
+     */
+    private static class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+        public LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+
+    /**
+     * The configuration of the compression of request bodies, null if
+     * request bodies are not compressed.
+     *
+     * @return The configuration of the compression of request bodies.
+     */
+    public CompressionConfig getCompressionConfig() {
+        return compressionConfig;
+    }
+
+    /**
+     * Set the configuration of the compression of request bodies. Request
+     * bodies that are at least as large as the configured minimum size are
+     * sent gzip-compressed. Responses are always requested compressed, and
+     * decompressed while they are parsed, independent of this configuration.
+     *
+     * @param compressionConfig The configuration of the compression of request
+     * bodies, or null to not compress request bodies. Defaults to null.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setCompressionConfig(CompressionConfig compressionConfig) {
+        this.compressionConfig = compressionConfig;
+        return this;
     }
 
     private void setTimeouts(HttpRequestBase request) {
@@ -474,6 +987,133 @@ public class SensorThingsService implements MqttCallback {
         entity.getDao(this).delete(entity);
     }
 
+    /**
+     * Start a new batch of operations, that is sent to the service in a
+     * single request.
+     *
+     * @return A new, empty batch.
+     */
+    public BatchRequest batch() {
+        return new BatchRequest(this);
+    }
+
+    /**
+     * Create all given entities in this service. Each entity is created with
+     * its own request. If a bulk parallelism greater than 1 is set using
+     * {@link #setBulkParallelism(int)}, the requests are executed concurrently,
+     * on virtual threads.
+     *
+     * @param <T> The type of entity to create.
+     * @param entities The entities to create.
+     * @return The per-entity outcome.
+     */
+    public <T extends Entity<T>> BulkResult<T, T> createAll(Collection<T> entities) {
+        return executeBulk(entities, entity -> {
+            create(entity);
+            return entity;
+        });
+    }
+
+    /**
+     * Delete all given entities from this service. Each entity is deleted with
+     * its own request. If a bulk parallelism greater than 1 is set using
+     * {@link #setBulkParallelism(int)}, the requests are executed concurrently,
+     * on virtual threads.
+     *
+     * @param <T> The type of entity to delete.
+     * @param entities The entities to delete.
+     * @return The per-entity outcome.
+     */
+    public <T extends Entity<T>> BulkResult<T, T> deleteAll(Collection<T> entities) {
+        return executeBulk(entities, entity -> {
+            delete(entity);
+            return entity;
+        });
+    }
+
+    /**
+     * Execute the given operation for all given inputs. If the bulk
+     * parallelism is 1 or less, the operations are executed one after the
+     * other on the calling thread. Otherwise each operation is executed on its
+     * own virtual thread, with at most bulkParallelism operations running at
+     * the same time. This method returns when all operations are done.
+     *
+     * @param <K> The type of the inputs.
+     * @param <R> The type of the results.
+     * @param inputs The inputs to execute the operation for.
+     * @param operation The operation to execute.
+     * @return The per-input outcome, in the order of the inputs.
+     */
+    public <K, R> BulkResult<K, R> executeBulk(Collection<K> inputs, BulkResult.Operation<K, R> operation) {
+        final List<K> inputList = new ArrayList<>(inputs);
+        final List<BulkResult.Item<K, R>> items = new ArrayList<>(Collections.nCopies(inputList.size(), null));
+        final int parallelism = bulkParallelism;
+        if (parallelism <= 1) {
+            for (int idx = 0; idx < inputList.size(); idx++) {
+                items.set(idx, executeBulkItem(inputList.get(idx), operation));
+            }
+            return new BulkResult<>(items);
+        }
+        final Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int idx = 0; idx < inputList.size(); idx++) {
+                final int index = idx;
+                final K input = inputList.get(idx);
+                try {
+                    permits.acquire();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    items.set(index, new BulkResult.Item<>(input, null, new ServiceFailureException("Interrupted before executing.", ex)));
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        items.set(index, executeBulkItem(input, operation));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return new BulkResult<>(items);
+    }
+
+    private static <K, R> BulkResult.Item<K, R> executeBulkItem(K input, BulkResult.Operation<K, R> operation) {
+        try {
+            return new BulkResult.Item<>(input, operation.apply(input), null);
+        } catch (ServiceFailureException ex) {
+            return new BulkResult.Item<>(input, null, ex);
+        } catch (RuntimeException ex) {
+            return new BulkResult.Item<>(input, null, new ServiceFailureException(ex));
+        }
+    }
+
+    /**
+     * The maximum number of requests that bulk operations execute
+     * concurrently.
+     *
+     * @return The bulk parallelism.
+     */
+    public int getBulkParallelism() {
+        return bulkParallelism;
+    }
+
+    /**
+     * Set the maximum number of requests that bulk operations, like
+     * {@link #createAll(java.util.Collection)}, execute concurrently. The
+     * default of 1 executes bulk operations sequentially on the calling
+     * thread. Requests beyond the number of pooled connections per route of
+     * the http client wait for a free connection, see
+     * {@link #setConnectionPoolConfig(ConnectionPoolConfig)}.
+     *
+     * @param bulkParallelism The maximum number of concurrent requests.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setBulkParallelism(int bulkParallelism) {
+        this.bulkParallelism = bulkParallelism;
+        return this;
+    }
+
     /**
      * Sets the TokenManager. Before each request is sent to the Service, the
      * TokenManager has the opportunity to modify the request and add any
@@ -502,8 +1142,9 @@ public class SensorThingsService implements MqttCallback {
      *
      * @return the client
      */
-    public CloseableHttpClient getHttpClient() {
+    public synchronized CloseableHttpClient getHttpClient() {
         if (httpClient == null) {
+            applyConnectionPoolConfig();
             httpClient = getClientBuilder().build();
             if (tokenManager != null) {
                 tokenManager.setHttpClient(httpClient);
@@ -522,7 +1163,7 @@ public class SensorThingsService implements MqttCallback {
      * to both make changes to the httpClient.
      */
     @Deprecated
-    public void setHttpClient(CloseableHttpClient httpClient) {
+    public synchronized void setHttpClient(CloseableHttpClient httpClient) {
         LOGGER.warn("Avoid using setHttpClient!");
         this.httpClient = httpClient;
     }
@@ -546,10 +1187,222 @@ public class SensorThingsService implements MqttCallback {
 
     /**
      * Triggers a rebuild of the httpClient, using the latest changes to the
-     * clientBuilder.
+     * clientBuilder. The old httpClient is not closed, unless its connection
+     * pool was created from a {@link ConnectionPoolConfig}. In that case the
+     * old pool is shut down, and requests still running on it fail.
      */
-    public void rebuildHttpClient() {
+    public synchronized void rebuildHttpClient() {
+        if (connectionManager != null) {
+            closeHttpClient();
+        } else {
+            httpClient = null;
+        }
+    }
+
+    private synchronized void closeHttpClient() {
+        final CloseableHttpClient oldClient = httpClient;
         httpClient = null;
+        connectionManager = null;
+        if (connectionEvictor != null) {
+            connectionEvictor.shutdown();
+            connectionEvictor = null;
+        }
+        if (oldClient != null) {
+            try {
+                oldClient.close();
+            } catch (IOException ex) {
+                LOGGER.warn("Failed to close http client.", ex);
+            }
+        }
+    }
+
+    /**
+     * The configuration of the connection pool, null if the connection pool
+     * is left to the client builder.
+     *
+     * @return The configuration of the connection pool.
+     */
+    public ConnectionPoolConfig getConnectionPoolConfig() {
+        return connectionPoolConfig;
+    }
+
+    /**
+     * Set the configuration of the connection pool and rebuild the
+     * httpClient and the asynchronous client. The pool is created when the
+     * httpClient is built, and set on the clientBuilder, replacing any
+     * connection manager, SSLSocketFactory or keep-alive strategy set there.
+     * If the configuration is changed after this, call
+     * {@link #rebuildHttpClient()} to apply the changes.
+     *
+     * The asynchronous client only uses the connection limits and the
+     * keep-alive duration, and only if no connection manager is set on the
+     * asyncClientBuilder. The SSLSocketFactory and the idle eviction only
+     * apply to the httpClient.
+     *
+     * @param connectionPoolConfig The configuration of the connection pool, or
+     * null to leave the connection pool to the client builders again.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setConnectionPoolConfig(ConnectionPoolConfig connectionPoolConfig) {
+        this.connectionPoolConfig = connectionPoolConfig;
+        rebuildHttpClient();
+        rebuildAsyncHttpClient();
+        return this;
+    }
+
+    /**
+     * The statistics of the connection pool: the number of leased, pending and
+     * available connections, over all routes. Only available when a
+     * ConnectionPoolConfig is set.
+     *
+     * @return The statistics of the connection pool, or null if no
+     * ConnectionPoolConfig is set or the httpClient is not built yet.
+     */
+    public PoolStats getConnectionPoolStats() {
+        final PoolingHttpClientConnectionManager manager = connectionManager;
+        if (manager == null) {
+            return null;
+        }
+        return manager.getTotalStats();
+    }
+
+    private void applyConnectionPoolConfig() {
+        final HttpClientBuilder builder = getClientBuilder();
+        if (connectionPoolConfig == null) {
+            if (poolConfigApplied) {
+                builder.setConnectionManager(null);
+                builder.setKeepAliveStrategy(null);
+                poolConfigApplied = false;
+            }
+            return;
+        }
+        final ConnectionPoolConfig config = connectionPoolConfig;
+        LayeredConnectionSocketFactory sslSocketFactory = config.getSslSocketFactory();
+        if (sslSocketFactory == null) {
+            sslSocketFactory = SSLConnectionSocketFactory.getSystemSocketFactory();
+        }
+        final Registry<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory)
+                .build();
+        final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(registry);
+        manager.setMaxTotal(config.getMaxTotal());
+        manager.setDefaultMaxPerRoute(config.getMaxPerRoute());
+        manager.setValidateAfterInactivity(config.getValidateAfterInactivity());
+        builder.setConnectionManager(manager);
+        builder.setKeepAliveStrategy(keepAliveStrategy(config.getKeepAlive()));
+        if (config.getIdleEviction() > 0) {
+            // Not set on the builder, since the builder can not turn eviction off again.
+            connectionEvictor = new IdleConnectionEvictor(manager, config.getIdleEviction(), TimeUnit.MILLISECONDS, config.getIdleEviction(), TimeUnit.MILLISECONDS);
+            connectionEvictor.start();
+        }
+        connectionManager = manager;
+        poolConfigApplied = true;
+    }
+
+    private void applyAsyncConnectionPoolConfig() {
+        final HttpAsyncClientBuilder builder = getAsyncClientBuilder();
+        final ConnectionPoolConfig config = connectionPoolConfig;
+        if (config == null) {
+            if (asyncPoolConfigApplied) {
+                // Values of 0 and null make the builder use its defaults again.
+                builder.setMaxConnTotal(0);
+                builder.setMaxConnPerRoute(0);
+                builder.setKeepAliveStrategy(null);
+                asyncPoolConfigApplied = false;
+            }
+            return;
+        }
+        builder.setMaxConnTotal(config.getMaxTotal());
+        builder.setMaxConnPerRoute(config.getMaxPerRoute());
+        builder.setKeepAliveStrategy(keepAliveStrategy(config.getKeepAlive()));
+        asyncPoolConfigApplied = true;
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAlive) {
+        return (response, context) -> {
+            final long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive >= 0 ? serverKeepAlive : keepAlive;
+        };
+    }
+
+    /**
+     * Get the non-blocking http client used for asynchronous requests. The
+     * client is built from {@link #getAsyncClientBuilder()} and started the
+     * first time it is requested.
+     *
+     * @return the started asynchronous client.
+     */
+    public synchronized CloseableHttpAsyncClient getAsyncHttpClient() {
+        if (asyncHttpClient == null) {
+            applyAsyncConnectionPoolConfig();
+            asyncHttpClient = getAsyncClientBuilder().build();
+            asyncHttpClient.start();
+        }
+        return asyncHttpClient;
+    }
+
+    /**
+     * Get the Builder used to generate the asynchronous httpClient. If changes
+     * are made to the builder after the client is already generated, call
+     * {@link #rebuildAsyncHttpClient()} to trigger the client to be built anew.
+     *
+     * The builder is initialised using: {@code HttpAsyncClients.custom().useSystemProperties()
+     * }, with daemon I/O threads.
+     *
+     * @return The client Builder used to generate the asynchronous client.
+     */
+    public synchronized HttpAsyncClientBuilder getAsyncClientBuilder() {
+        if (asyncClientBuilder == null) {
+            asyncClientBuilder = HttpAsyncClients.custom()
+                    .useSystemProperties()
+                    .setThreadFactory(runnable -> {
+                        Thread thread = new Thread(runnable, "FROST-Client-async-" + ASYNC_THREAD_COUNTER.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return asyncClientBuilder;
+    }
+
+    /**
+     * Closes the current asynchronous client, if any. The next asynchronous
+     * request will build a new client, using the latest changes to the
+     * asyncClientBuilder.
+     */
+    public synchronized void rebuildAsyncHttpClient() {
+        if (asyncHttpClient != null) {
+            try {
+                asyncHttpClient.close();
+            } catch (IOException ex) {
+                LOGGER.warn("Failed to close asynchronous http client.", ex);
+            }
+            asyncHttpClient = null;
+        }
+    }
+
+    /**
+     * Closes the http clients of this service, with their connection pools
+     * and I/O threads. Requests that are still running fail. If the service is
+     * used again after closing, new clients are built. MQTT subscriptions are
+     * not affected.
+     */
+    @Override
+    public void close() {
+        closeHttpClient();
+        rebuildAsyncHttpClient();
+    }
+
+    /**
+     * Set the executor used to process the responses of asynchronous
+     * requests. Defaults to {@link ForkJoinPool#commonPool()}.
+     *
+     * @param asyncExecutor The executor to process asynchronous responses on.
+     * @return This SensorThingsService.
+     */
+    public SensorThingsService setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = Objects.requireNonNull(asyncExecutor, "asyncExecutor must not be null");
+        return this;
     }
 
     @Override
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.NotFoundException;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.service.ConnectionPoolConfig;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the asynchronous variants of the Dao and Query methods.
+ *
+ * @author scf
+ */
+public class AsyncDaoTest {
+
+    private StandInServer server;
+    private SensorThingsService service;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInServer();
+        service = new SensorThingsService(server.getServiceUrl());
+    }
+
+    @After
+    public void tearDown() {
+        service.rebuildAsyncHttpClient();
+        server.close();
+    }
+
+    private static <R> R await(CompletableFuture<R> future) throws InterruptedException, ExecutionException, TimeoutException {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCreateAsync() throws Exception {
+        server.on("Things", exchange -> {
+            exchange.getResponseHeaders().add("Location", server.getBaseUrl() + "Things(42)");
+            StandInServer.respond(exchange, 201, null, null);
+        });
+        Thing thing = new Thing("Thing", "A Thing");
+        Thing created = await(service.things().createAsync(thing));
+        Assert.assertSame(thing, created);
+        Assert.assertEquals(42L, created.getId().getValue());
+        Assert.assertEquals("POST", server.getRequests().get(0).getRequestMethod());
+    }
+
+    @Test
+    public void testFindAsync() throws Exception {
+        server.onJson("Things(1)", 200, "{\"@iot.id\":1,\"name\":\"t1\"}");
+        Thing thing = await(service.things().findAsync(new IdLong(1L)));
+        Assert.assertEquals("t1", thing.getName());
+        Assert.assertSame(service, thing.getService());
+    }
+
+    @Test
+    public void testFindAsyncNotFound() throws Exception {
+        server.onJson("Things(2)", 404, "{\"message\":\"Nothing here\"}");
+        try {
+            await(service.things().findAsync(new IdLong(2L)));
+            Assert.fail("Expected an ExecutionException");
+        } catch (ExecutionException ex) {
+            Assert.assertTrue(ex.getCause() instanceof NotFoundException);
+        }
+    }
+
+    @Test
+    public void testCloseAndReuse() throws Exception {
+        server.onJson("Things(1)", 200, "{\"@iot.id\":1,\"name\":\"t1\"}");
+        service.setConnectionPoolConfig(new ConnectionPoolConfig().setMaxPerRoute(1));
+        Assert.assertEquals("t1", await(service.things().findAsync(new IdLong(1L))).getName());
+        CloseableHttpAsyncClient oldClient = service.getAsyncHttpClient();
+        service.close();
+        Assert.assertFalse(oldClient.isRunning());
+        Assert.assertEquals("t1", await(service.things().findAsync(new IdLong(1L))).getName());
+        Assert.assertNotSame(oldClient, service.getAsyncHttpClient());
+    }
+
+    @Test
+    public void testListAsync() throws Exception {
+        server.onJson("Things", 200, "{\"value\":[{\"@iot.id\":1,\"name\":\"t1\"},{\"@iot.id\":2,\"name\":\"t2\"}]}");
+        EntityList<Thing> things = await(service.things().query().listAsync());
+        Assert.assertEquals(2, things.size());
+        Assert.assertFalse(things.hasNextLink());
+    }
+
+}
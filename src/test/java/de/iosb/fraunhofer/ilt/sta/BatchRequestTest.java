@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.StatusCodeException;
+import de.fraunhofer.iosb.ilt.sta.dao.BatchRequest;
+import de.fraunhofer.iosb.ilt.sta.model.Entity;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.service.BulkResult;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for sending JSON batch requests.
+ *
+ * @author scf
+ */
+public class BatchRequestTest {
+
+    private StandInServer server;
+    private SensorThingsService service;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInServer();
+        service = new SensorThingsService(server.getServiceUrl());
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testBatch() throws ServiceFailureException {
+        final AtomicReference<String> requestBody = new AtomicReference<>();
+        server.on("$batch", exchange -> {
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            String response = "{\"responses\":["
+                    + "{\"id\":\"0\",\"status\":201,\"headers\":{\"Location\":\"" + server.getBaseUrl() + "Things(17)\"}},"
+                    + "{\"id\":\"1\",\"status\":200},"
+                    + "{\"id\":\"2\",\"status\":404,\"body\":{\"message\":\"Not Found\"}}"
+                    + "]}";
+            StandInServer.respond(exchange, 200, "application/json", response.getBytes(StandardCharsets.UTF_8));
+        });
+        Thing created = new Thing("new", "A new Thing");
+        Thing updated = new Thing("changed", "A changed Thing");
+        updated.setId(new IdLong(5L));
+        Thing deleted = new Thing();
+        deleted.setId(new IdLong(6L));
+
+        BulkResult<Entity<?>, Entity<?>> result = service.batch()
+                .create(created)
+                .update(updated)
+                .delete(deleted)
+                .execute();
+
+        Assert.assertEquals(1, server.getRequests().size());
+        Assert.assertEquals(17L, created.getId().getValue());
+        Assert.assertSame(service, created.getService());
+        Assert.assertTrue(result.getItems().get(0).isSuccess());
+        Assert.assertTrue(result.getItems().get(1).isSuccess());
+        Assert.assertEquals(404, ((StatusCodeException) result.getItems().get(2).getFailure()).getStatusCode());
+
+        ObjectMapper mapper = JsonMapper.builder().build();
+        JsonNode requests = mapper.readTree(requestBody.get()).get("requests");
+        Assert.assertEquals(3, requests.size());
+        Assert.assertEquals("post", requests.get(0).get("method").asString());
+        Assert.assertEquals("Things", requests.get(0).get("url").asString());
+        Assert.assertEquals("new", requests.get(0).get("body").get("name").asString());
+        Assert.assertEquals("patch", requests.get(1).get("method").asString());
+        Assert.assertEquals("Things(5)", requests.get(1).get("url").asString());
+        Assert.assertEquals("delete", requests.get(2).get("method").asString());
+        Assert.assertEquals("Things(6)", requests.get(2).get("url").asString());
+        Assert.assertNull(requests.get(2).get("body"));
+    }
+
+    @Test
+    public void testUpdateAndDeleteWithoutIdAreRejected() {
+        BatchRequest batch = service.batch();
+        try {
+            batch.update(new Thing("no id", "A Thing without id"));
+            Assert.fail("Expected an IllegalArgumentException.");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            batch.delete(new Thing());
+            Assert.fail("Expected an IllegalArgumentException.");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        Assert.assertEquals(0, batch.size());
+    }
+
+    @Test
+    public void testObservationWithoutResultIsRejected() {
+        BatchRequest batch = service.batch();
+        try {
+            batch.create(new Observation());
+            Assert.fail("Expected an IllegalArgumentException.");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        Assert.assertEquals(0, batch.size());
+        batch.create(new Observation(null, ZonedDateTime.parse("2020-01-01T00:00:00Z")));
+        Assert.assertEquals(1, batch.size());
+    }
+
+    @Test
+    public void testPartiallyFailedBatch() throws ServiceFailureException {
+        server.on("$batch", exchange -> {
+            String response = "{\"responses\":["
+                    + "{\"id\":\"0\",\"status\":201,\"headers\":{\"location\":\"" + server.getBaseUrl() + "Things(18)\"}},"
+                    + "{\"id\":\"1\",\"status\":500,\"body\":{\"message\":\"Failed\"}}"
+                    + "]}";
+            StandInServer.respond(exchange, 200, "application/json", response.getBytes(StandardCharsets.UTF_8));
+        });
+        Thing created = new Thing("new", "A new Thing");
+        Thing failed = new Thing("changed", "A changed Thing");
+        failed.setId(new IdLong(5L));
+        Thing unanswered = new Thing();
+        unanswered.setId(new IdLong(6L));
+
+        BulkResult<Entity<?>, Entity<?>> result = service.batch()
+                .create(created)
+                .update(failed)
+                .delete(unanswered)
+                .execute();
+
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertEquals(1, result.getSuccessCount());
+        Assert.assertEquals(2, result.getFailureCount());
+        Assert.assertEquals(18L, created.getId().getValue());
+        Assert.assertEquals(500, ((StatusCodeException) result.getItems().get(1).getFailure()).getStatusCode());
+        Assert.assertNotNull(result.getItems().get(2).getFailure());
+        try {
+            result.throwIfFailed();
+            Assert.fail("Expected a ServiceFailureException.");
+        } catch (ServiceFailureException ex) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.NotFoundException;
+import de.fraunhofer.iosb.ilt.sta.model.Id;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.service.BulkResult;
+import de.fraunhofer.iosb.ilt.sta.service.ConnectionPoolConfig;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the bulk operations of the SensorThingsService.
+ *
+ * @author scf
+ */
+public class BulkOperationTest {
+
+    private StandInServer server;
+    private SensorThingsService service;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInServer();
+        service = new SensorThingsService(server.getServiceUrl())
+                .setBulkParallelism(4);
+    }
+
+    @After
+    public void tearDown() {
+        service.close();
+        server.close();
+    }
+
+    @Test
+    public void testCreateAll() {
+        final AtomicLong nextId = new AtomicLong(1);
+        server.on("Things", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (body.contains("\"fail\"")) {
+                StandInServer.respond(exchange, 400, "application/json", "{\"message\":\"Rejected\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            exchange.getResponseHeaders().add("Location", server.getBaseUrl() + "Things(" + nextId.getAndIncrement() + ")");
+            StandInServer.respond(exchange, 201, null, null);
+        });
+        List<Thing> things = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            things.add(new Thing(i == 7 ? "fail" : "Thing " + i, "A Thing"));
+        }
+        BulkResult<Thing, Thing> result = service.createAll(things);
+        Assert.assertEquals(20, result.getItems().size());
+        Assert.assertEquals(19, result.getSuccessCount());
+        Assert.assertEquals(1, result.getFailureCount());
+        Assert.assertSame(things.get(7), result.getFailures().get(0).getInput());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertSame(things.get(i), result.getItems().get(i).getInput());
+            Assert.assertEquals(i != 7, things.get(i).getId() != null);
+        }
+    }
+
+    @Test
+    public void testFindAllPooled() {
+        service.setConnectionPoolConfig(new ConnectionPoolConfig().setMaxPerRoute(4));
+        Assert.assertNull(service.getConnectionPoolStats());
+        for (int i = 1; i <= 8; i++) {
+            server.onJson("Things(" + i + ")", 200, "{\"@iot.id\":" + i + ",\"name\":\"t" + i + "\"}");
+        }
+        List<Id> ids = new ArrayList<>();
+        for (long i = 1; i <= 8; i++) {
+            ids.add(new IdLong(i));
+        }
+        BulkResult<Id, Thing> result = service.things().findAll(ids);
+        Assert.assertTrue(result.isSuccess());
+        PoolStats stats = service.getConnectionPoolStats();
+        Assert.assertEquals(0, stats.getLeased());
+        Assert.assertEquals(0, stats.getPending());
+        Assert.assertTrue(stats.getAvailable() > 0);
+        Assert.assertTrue(stats.getAvailable() <= 4);
+    }
+
+    @Test
+    public void testPoolClosedOnRebuild() throws Exception {
+        server.onJson("Things(1)", 200, "{\"@iot.id\":1,\"name\":\"t1\"}");
+        service.setConnectionPoolConfig(new ConnectionPoolConfig().setIdleEviction(60_000));
+        Assert.assertEquals("t1", service.things().find(new IdLong(1L)).getName());
+        final CloseableHttpClient oldClient = service.getHttpClient();
+        Assert.assertEquals(1, countEvictors());
+
+        service.setConnectionPoolConfig(null);
+        Assert.assertNull(service.getConnectionPoolStats());
+        Assert.assertEquals("t1", service.things().find(new IdLong(1L)).getName());
+        Assert.assertNotSame(oldClient, service.getHttpClient());
+        try {
+            oldClient.execute(new HttpGet(server.getBaseUrl() + "Things(1)")).close();
+            Assert.fail("Old client should be closed.");
+        } catch (IllegalStateException ex) {
+            // Expected, the pool of the old client is shut down.
+        }
+        for (int i = 0; i < 50 && countEvictors() > 0; i++) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(0, countEvictors());
+    }
+
+    @Test
+    public void testRebuildKeepsOwnConnectionManager() throws Exception {
+        server.onJson("Things(1)", 200, "{\"@iot.id\":1,\"name\":\"t1\"}");
+        final PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+        service.getClientBuilder().setConnectionManager(manager);
+        service.rebuildHttpClient();
+        final CloseableHttpClient oldClient = service.getHttpClient();
+        Assert.assertEquals("t1", service.things().find(new IdLong(1L)).getName());
+
+        service.rebuildHttpClient();
+        Assert.assertNotSame(oldClient, service.getHttpClient());
+        Assert.assertEquals("t1", service.things().find(new IdLong(1L)).getName());
+        oldClient.execute(new HttpGet(server.getBaseUrl() + "Things(1)")).close();
+        manager.shutdown();
+    }
+
+    @Test
+    public void testConcurrentClientCreation() throws Exception {
+        for (int i = 0; i < 50 && countEvictors() > 0; i++) {
+            Thread.sleep(20);
+        }
+        service.setConnectionPoolConfig(new ConnectionPoolConfig().setIdleEviction(60_000));
+        final Set<CloseableHttpClient> clients = ConcurrentHashMap.newKeySet();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            threads.add(Thread.startVirtualThread(() -> clients.add(service.getHttpClient())));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(1, clients.size());
+        Assert.assertEquals(1, countEvictors());
+    }
+
+    private static long countEvictors() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.isAlive() && t.getName().startsWith("Connection evictor"))
+                .count();
+    }
+
+    @Test
+    public void testFindAll() {
+        server.onJson("Things(1)", 200, "{\"@iot.id\":1,\"name\":\"t1\"}")
+                .onJson("Things(3)", 200, "{\"@iot.id\":3,\"name\":\"t3\"}");
+        List<Id> ids = Arrays.asList(new IdLong(1L), new IdLong(2L), new IdLong(3L));
+        BulkResult<Id, Thing> result = service.things().findAll(ids);
+        Assert.assertEquals(2, result.getResults().size());
+        Assert.assertEquals("t1", result.getItems().get(0).getResult().getName());
+        Assert.assertTrue(result.getItems().get(1).getFailure() instanceof NotFoundException);
+        Assert.assertEquals("t3", result.getItems().get(2).getResult().getName());
+    }
+
+}
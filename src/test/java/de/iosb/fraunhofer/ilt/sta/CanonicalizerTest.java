@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.Canonicalizer;
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.EntityType;
+import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Tests for canonicalizing strings and small values of read entities.
+ *
+ * @author scf
+ */
+public class CanonicalizerTest {
+
+    private static final String DATASTREAM = "{\"@iot.id\":%d,\"name\":\"Temperature\","
+            + "\"observationType\":\"http://www.opengis.net/def/observationType/OGC-OM/2.0/OM_Measurement\","
+            + "\"unitOfMeasurement\":{\"name\":\"degree Celsius\",\"symbol\":\"°C\",\"definition\":\"ucum:Cel\"},"
+            + "\"properties\":{\"room\":\"R1\",\"tags\":[\"indoor\"]}}";
+    private static final String PAGE = "{\"value\":[" + String.format(DATASTREAM, 1) + "," + String.format(DATASTREAM, 2) + "]}";
+
+    private static List<Datastream> read(Canonicalizer canonicalizer) {
+        ObjectReader reader = ObjectMapperFactory.get().readerFor(EntityType.DATASTREAMS.getTypeReference());
+        if (canonicalizer != null) {
+            reader = reader.withAttribute(Canonicalizer.ATTRIBUTE_CANONICALIZER, canonicalizer);
+        }
+        EntityList<Datastream> list = reader.readValue(PAGE);
+        return list.toList();
+    }
+
+    @Test
+    public void testCanonicalized() {
+        List<Datastream> datastreams = read(new Canonicalizer());
+        Datastream first = datastreams.get(0);
+        Datastream second = datastreams.get(1);
+        Assert.assertSame(first.getName(), second.getName());
+        Assert.assertSame(first.getObservationType(), second.getObservationType());
+        Assert.assertNotSame(first.getUnitOfMeasurement(), second.getUnitOfMeasurement());
+        Assert.assertEquals(first.getUnitOfMeasurement(), second.getUnitOfMeasurement());
+        Assert.assertSame(first.getUnitOfMeasurement().getSymbol(), second.getUnitOfMeasurement().getSymbol());
+        Assert.assertSame(first.getProperties().get("room"), second.getProperties().get("room"));
+        Assert.assertSame(((List<?>) first.getProperties().get("tags")).get(0), ((List<?>) second.getProperties().get("tags")).get(0));
+        Assert.assertEquals("°C", first.getUnitOfMeasurement().getSymbol());
+    }
+
+    @Test
+    public void testUnitsNotShared() {
+        Canonicalizer canonicalizer = new Canonicalizer();
+        List<Datastream> datastreams = read(canonicalizer);
+        datastreams.get(0).getUnitOfMeasurement().setSymbol("K");
+        Assert.assertEquals("°C", datastreams.get(1).getUnitOfMeasurement().getSymbol());
+        Datastream again = read(canonicalizer).get(0);
+        Assert.assertEquals("°C", again.getUnitOfMeasurement().getSymbol());
+    }
+
+    @Test
+    public void testNotCanonicalizedByDefault() {
+        List<Datastream> datastreams = read(null);
+        Datastream first = datastreams.get(0);
+        Datastream second = datastreams.get(1);
+        Assert.assertNotSame(first.getName(), second.getName());
+        Assert.assertNotSame(first.getUnitOfMeasurement(), second.getUnitOfMeasurement());
+        Assert.assertEquals(first.getUnitOfMeasurement(), second.getUnitOfMeasurement());
+    }
+
+    @Test
+    public void testBounded() {
+        Canonicalizer canonicalizer = new Canonicalizer(2, 4);
+        String a = canonicalizer.canonical(new String("a"));
+        Assert.assertSame(a, canonicalizer.canonical(new String("a")));
+        canonicalizer.canonical("b");
+        Assert.assertEquals(2, canonicalizer.size());
+        canonicalizer.canonical("c");
+        Assert.assertEquals(1, canonicalizer.size());
+        Assert.assertNotSame(a, canonicalizer.canonical(new String("a")));
+        String tooLong = new String("abcde");
+        Assert.assertSame(tooLong, canonicalizer.canonical(tooLong));
+        Assert.assertNotSame(tooLong, canonicalizer.canonical(new String("abcde")));
+    }
+
+    @Test
+    public void testServiceCanonicalizer() throws Exception {
+        try (StandInServer server = new StandInServer()) {
+            server.onJson("Datastreams", 200, PAGE);
+            Canonicalizer canonicalizer = new Canonicalizer();
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setCanonicalizer(canonicalizer);
+            List<Datastream> datastreams = service.datastreams().query().list().toList();
+            Assert.assertSame(datastreams.get(0).getUnitOfMeasurement().getName(), datastreams.get(1).getUnitOfMeasurement().getName());
+            Assert.assertTrue(canonicalizer.size() > 0);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import com.sun.net.httpserver.HttpExchange;
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.service.CompressionConfig;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * Tests for the compression of request and response bodies.
+ *
+ * @author scf
+ */
+public class CompressionTest {
+
+    private StandInServer server;
+    private SensorThingsService service;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInServer();
+        service = new SensorThingsService(server.getServiceUrl());
+    }
+
+    @After
+    public void tearDown() {
+        service.rebuildAsyncHttpClient();
+        server.close();
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            in = new GZIPInputStream(in);
+        }
+        try (InputStream body = in) {
+            return ObjectMapperFactory.get().readTree(body);
+        }
+    }
+
+    private void onCreate(String[] encoding) {
+        server.on("Things", exchange -> {
+            encoding[0] = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            encoding[1] = readBody(exchange).get("description").asString();
+            exchange.getResponseHeaders().add("Location", server.getBaseUrl() + "Things(42)");
+            StandInServer.respond(exchange, 201, null, null);
+        });
+    }
+
+    @Test
+    public void testLargeBodyCompressed() throws Exception {
+        final String[] encoding = new String[2];
+        onCreate(encoding);
+        service.setCompressionConfig(new CompressionConfig().setMinimumSize(100).setLevel(9));
+        String description = "A Thing with a long description. ".repeat(20);
+        service.create(new Thing("Thing", description));
+        Assert.assertEquals("gzip", encoding[0]);
+        Assert.assertEquals(description, encoding[1]);
+    }
+
+    @Test
+    public void testSmallBodyNotCompressed() throws Exception {
+        final String[] encoding = new String[2];
+        onCreate(encoding);
+        service.setCompressionConfig(new CompressionConfig().setMinimumSize(10000));
+        service.create(new Thing("Thing", "A Thing"));
+        Assert.assertNull(encoding[0]);
+        Assert.assertEquals("A Thing", encoding[1]);
+    }
+
+    @Test
+    public void testCompressedResponseAsync() throws Exception {
+        server.on("Things(1)", exchange -> {
+            Assert.assertTrue(exchange.getRequestHeaders().getFirst("Accept-Encoding").contains("gzip"));
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write("{\"@iot.id\":1,\"name\":\"t1\"}".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            StandInServer.respond(exchange, 200, "application/json", buffer.toByteArray());
+        });
+        Thing thing = service.things().findAsync(new IdLong(1L)).get(10, TimeUnit.SECONDS);
+        Assert.assertEquals("t1", thing.getName());
+        Assert.assertEquals("t1", service.things().find(new IdLong(1L)).getName());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.FeatureOfInterest;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.ext.ColumnarDataArrayValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.ColumnarDataArrayValue.Column;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayDocument;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayValue;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for reading Observations with $resultFormat=dataArray.
+ *
+ * @author scf
+ */
+public class DataArrayQueryTest {
+
+    private StandInServer server;
+    private SensorThingsService service;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInServer();
+        service = new SensorThingsService(server.getServiceUrl());
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    private String page(int first, String nextPath) {
+        StringBuilder json = new StringBuilder("{\"@iot.count\":4,");
+        if (nextPath != null) {
+            json.append("\"@iot.nextLink\":\"").append(server.getBaseUrl()).append(nextPath).append("\",");
+        }
+        json.append("\"value\":[{")
+                .append("\"Datastream@iot.navigationLink\":\"").append(server.getBaseUrl()).append("Datastreams(1)\",")
+                .append("\"components\":[\"id\",\"phenomenonTime\",\"result\"],")
+                .append("\"dataArray@iot.count\":2,")
+                .append("\"dataArray\":[")
+                .append("[").append(first).append(",\"2020-01-01T00:00:0").append(first).append("Z\",").append(first).append(".5],")
+                .append("[").append(first + 1).append(",\"2020-01-01T00:00:0").append(first + 1).append("Z\",").append(first + 1).append(".5]")
+                .append("]}]}");
+        return json.toString();
+    }
+
+    @Test
+    public void testListDataArray() throws ServiceFailureException {
+        server.onJson("Observations?%24resultFormat=dataArray", 200, page(1, "Observations?page=2"))
+                .onJson("Observations?page=2", 200, page(3, null));
+
+        DataArrayDocument document = service.observations().query().listDataArray();
+        Assert.assertEquals(4, document.getCount());
+        Assert.assertTrue(document.hasNextLink());
+        DataArrayValue dav = document.getValue().get(0);
+        Assert.assertEquals(Arrays.asList("id", "phenomenonTime", "result"), dav.getComponents());
+        Assert.assertEquals(2, dav.size());
+        Assert.assertEquals(server.getBaseUrl() + "Datastreams(1)", dav.getNavigationLink());
+        Assert.assertEquals(new BigDecimal("1.5"), dav.getDataArray().get(0).get(2));
+
+        ColumnarDataArrayValue columnar = (ColumnarDataArrayValue) dav;
+        Column ids = columnar.getColumn("id");
+        Assert.assertTrue(ids.isIntegral());
+        Assert.assertEquals(2, ids.getLong(1));
+        Column results = columnar.getColumn("result");
+        Assert.assertFalse(results.isNumeric());
+        Assert.assertEquals(new BigDecimal("2.5"), results.getValue(1));
+        Assert.assertEquals(2.5, results.getDouble(1), 0);
+        Assert.assertFalse(columnar.getColumn("phenomenonTime").isNumeric());
+        Assert.assertNull(columnar.getColumn("resultTime"));
+
+        document.fetchNext();
+        Assert.assertFalse(document.hasNextLink());
+        Assert.assertEquals("2020-01-01T00:00:04Z", document.getValue().get(0).getDataArray().get(1).get(1));
+    }
+
+    @Test
+    public void testMixedColumns() throws ServiceFailureException {
+        server.onJson("Observations?%24resultFormat=dataArray", 200, "{\"value\":[{"
+                + "\"MultiDatastream@iot.navigationLink\":\"" + server.getBaseUrl() + "MultiDatastreams(2)\","
+                + "\"components\":[\"result\",\"parameters\"],"
+                + "\"dataArray\":[[1,{\"a\":1}],[2.5],[null,null,\"extra\"],[12345678901234567890,null]]}]}");
+
+        ColumnarDataArrayValue dav = (ColumnarDataArrayValue) service.observations().query().listDataArray().getValue().get(0);
+        Assert.assertEquals(server.getBaseUrl() + "MultiDatastreams(2)", dav.getNavigationLink());
+        Assert.assertEquals(4, dav.size());
+        Assert.assertEquals(3, dav.getColumns().size());
+        Column results = dav.getColumn("result");
+        Assert.assertFalse(results.isNumeric());
+        Assert.assertEquals(1L, results.getValue(0));
+        Assert.assertEquals(1.0, results.getDouble(0), 0);
+        Assert.assertEquals(new BigDecimal("2.5"), results.getValue(1));
+        Assert.assertNull(results.getValue(2));
+        Assert.assertEquals(new BigInteger("12345678901234567890"), results.getValue(3));
+        Assert.assertEquals(Collections.singletonMap("a", 1), dav.getColumn("parameters").getValue(0));
+        Assert.assertEquals(Arrays.asList(null, null, "extra"), dav.getDataArray().get(2));
+        Assert.assertEquals(Arrays.asList(new BigDecimal("2.5"), null, null), dav.getDataArray().get(1));
+    }
+
+    @Test
+    public void testPrecision() throws ServiceFailureException {
+        server.onJson("Observations?%24resultFormat=dataArray", 200, "{\"value\":[{"
+                + "\"components\":[\"id\",\"result\"],"
+                + "\"dataArray\":[[1,0.12345678901234567890123],[2,1E+400]]}]}");
+
+        ColumnarDataArrayValue dav = (ColumnarDataArrayValue) service.observations().query().listDataArray().getValue().get(0);
+        Assert.assertTrue(dav.getColumn("id").isIntegral());
+        Assert.assertEquals(new BigDecimal("0.12345678901234567890123"), dav.getColumn("result").getValue(0));
+        Assert.assertEquals(new BigDecimal("1E+400"), dav.getColumn("result").getValue(1));
+    }
+
+    @Test
+    public void testColumnKeepsTypes() {
+        Column doubles = new Column();
+        doubles.addDouble(1.5);
+        doubles.addDouble(2.5);
+        Assert.assertTrue(doubles.isNumeric());
+        Assert.assertFalse(doubles.isIntegral());
+        Assert.assertEquals(2.5, doubles.getDouble(1), 0);
+
+        Column mixed = new Column();
+        mixed.addLong(1);
+        mixed.addDouble(2.5);
+        mixed.addLong(3);
+        Assert.assertFalse(mixed.isNumeric());
+        Assert.assertEquals(1L, mixed.getValue(0));
+        Assert.assertEquals(2.5, mixed.getValue(1));
+        Assert.assertEquals(3L, mixed.getValue(2));
+    }
+
+    @Test
+    public void testPlainReadIsNotColumnar() throws ServiceFailureException {
+        String json = "{\"components\":[\"id\",\"result\"],\"dataArray\":[[1,1.5]]}";
+        DataArrayValue dav = ObjectMapperFactory.get().readValue(json, DataArrayValue.class);
+        Assert.assertFalse(dav instanceof ColumnarDataArrayValue);
+        Assert.assertEquals(Arrays.asList(1, new BigDecimal("1.5")), dav.getDataArray().get(0));
+        Observation observation = new Observation(2, ZonedDateTime.parse("2020-01-01T00:00:00Z"));
+        FeatureOfInterest feature = new FeatureOfInterest();
+        feature.setId(new IdLong(3L));
+        observation.setFeatureOfInterest(feature);
+        dav.addObservation(observation);
+        Assert.assertEquals(2, dav.getDataArray().size());
+    }
+
+}
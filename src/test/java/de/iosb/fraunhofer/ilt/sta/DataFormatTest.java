@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import com.sun.net.httpserver.HttpExchange;
+import de.fraunhofer.iosb.ilt.sta.jackson.DataFormat;
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * Tests for exchanging entities in the binary Smile and CBOR formats.
+ *
+ * @author scf
+ */
+public class DataFormatTest {
+
+    private StandInServer server;
+    private SensorThingsService service;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInServer();
+        service = new SensorThingsService(server.getServiceUrl());
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    private static byte[] encode(DataFormat format, String json) {
+        JsonNode tree = ObjectMapperFactory.get().readTree(json);
+        return format.getMapper().writeValueAsBytes(tree);
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        DataFormat format = DataFormat.forMimeType(exchange.getRequestHeaders().getFirst("Content-Type"));
+        try (InputStream in = exchange.getRequestBody()) {
+            return format.getMapper().readTree(in);
+        }
+    }
+
+    @Test
+    public void testFindSmile() throws Exception {
+        server.on("Things(1)", exchange -> {
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            Assert.assertTrue(accept, accept.startsWith(DataFormat.SMILE.getMimeType()));
+            StandInServer.respond(exchange, 200, DataFormat.SMILE.getMimeType(), encode(DataFormat.SMILE, "{\"@iot.id\":1,\"name\":\"t1\",\"properties\":{\"depth\":2.5}}"));
+        });
+        service.setDataFormat(DataFormat.SMILE);
+        Thing thing = service.things().find(new IdLong(1L));
+        Assert.assertEquals("t1", thing.getName());
+        Assert.assertEquals(1L, thing.getId().getValue());
+    }
+
+    @Test
+    public void testListCbor() throws Exception {
+        server.on("Things", exchange -> StandInServer.respond(exchange, 200, DataFormat.CBOR.getMimeType(),
+                encode(DataFormat.CBOR, "{\"value\":[{\"@iot.id\":1,\"name\":\"t1\"},{\"@iot.id\":2,\"name\":\"t2\"}]}")));
+        service.setDataFormat(DataFormat.CBOR);
+        EntityList<Thing> things = service.things().query().list();
+        Assert.assertEquals(2, things.size());
+        Assert.assertEquals("t2", things.toList().get(1).getName());
+    }
+
+    @Test
+    public void testJsonResponseToBinaryRequest() throws Exception {
+        server.onJson("Things(1)", 200, "{\"@iot.id\":1,\"name\":\"t1\"}");
+        service.setDataFormat(DataFormat.SMILE);
+        Assert.assertEquals("t1", service.things().find(new IdLong(1L)).getName());
+    }
+
+    @Test
+    public void testCreateSmile() throws Exception {
+        server.on("Things", exchange -> {
+            Assert.assertEquals(DataFormat.SMILE.getMimeType(), exchange.getRequestHeaders().getFirst("Content-Type"));
+            Assert.assertEquals("Thing", readBody(exchange).get("name").asString());
+            exchange.getResponseHeaders().add("Location", server.getBaseUrl() + "Things(42)");
+            StandInServer.respond(exchange, 201, null, null);
+        });
+        service.setDataFormat(DataFormat.SMILE);
+        Thing thing = new Thing("Thing", "A Thing");
+        service.create(thing);
+        Assert.assertEquals(42L, thing.getId().getValue());
+    }
+
+    @Test
+    public void testFallbackToJson() throws Exception {
+        server.on("Things", exchange -> {
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (!contentType.startsWith(DataFormat.JSON.getMimeType())) {
+                StandInServer.respond(exchange, 415, null, null);
+                return;
+            }
+            Assert.assertEquals("Thing", readBody(exchange).get("name").asString());
+            exchange.getResponseHeaders().add("Location", server.getBaseUrl() + "Things(43)");
+            StandInServer.respond(exchange, 201, null, null);
+        });
+        service.setDataFormat(DataFormat.CBOR);
+        Thing thing = new Thing("Thing", "A Thing");
+        service.create(thing);
+        Assert.assertEquals(43L, thing.getId().getValue());
+        Assert.assertEquals(DataFormat.JSON, service.getDataFormat());
+        Assert.assertEquals(2, server.getRequests().size());
+    }
+}
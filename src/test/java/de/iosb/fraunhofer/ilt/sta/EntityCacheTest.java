@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.EntityType;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.service.EntityCache;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the entity cache of the service.
+ *
+ * @author scf
+ */
+public class EntityCacheTest {
+
+    private static StandInServer createServer() throws Exception {
+        StandInServer server = new StandInServer();
+        for (int i = 1; i <= 3; i++) {
+            server.onJson("Observations(" + i + ")", 200, "{\"@iot.id\":" + i + ",\"result\":" + i + "}");
+            server.onJson("Observations(" + i + ")/Datastream", 200, "{\"@iot.id\":7,\"name\":\"ds\"}");
+        }
+        server.onJson("Datastreams(7)/Thing", 200, "{\"@iot.id\":9,\"name\":\"thing\"}");
+        server.onJson("Things(9)", 200, "{\"@iot.id\":9,\"name\":\"thing\"}");
+        return server;
+    }
+
+    @Test
+    public void testNavigationUsesCache() throws Exception {
+        try (StandInServer server = createServer()) {
+            EntityCache cache = new EntityCache(100, 1, TimeUnit.MINUTES);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setEntityCache(cache);
+            Datastream first = null;
+            for (int i = 1; i <= 3; i++) {
+                Observation observation = service.observations().find(new IdLong((long) i));
+                Datastream datastream = observation.getDatastream();
+                Thing thing = datastream.getThing();
+                Assert.assertEquals(new IdLong(9L), thing.getId());
+                if (first == null) {
+                    first = datastream;
+                }
+                Assert.assertSame(first, datastream);
+            }
+            // 3 Observations, 3 Datastream navigations, 1 Thing navigation.
+            Assert.assertEquals(7, server.getRequests().size());
+            Assert.assertSame(first.getThing(), service.things().find(new IdLong(9L)));
+            Assert.assertEquals(7, server.getRequests().size());
+            Assert.assertEquals(1, cache.getHitCount());
+            Assert.assertTrue(cache.getMissCount() > 0);
+        }
+    }
+
+    @Test
+    public void testFindUsesCacheAndInvalidation() throws Exception {
+        try (StandInServer server = createServer()) {
+            EntityCache cache = new EntityCache(100, 1, TimeUnit.MINUTES);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setEntityCache(cache);
+            Observation observation = service.observations().find(new IdLong(1L));
+            Assert.assertSame(observation, service.observations().find(new IdLong(1L)));
+            Assert.assertSame(observation, service.observations().findAsync(new IdLong(1L)).get());
+            Assert.assertEquals(1, server.getRequests().size());
+            Assert.assertEquals(2, cache.getHitCount());
+            Assert.assertEquals(1, cache.getMissCount());
+
+            cache.invalidate(EntityType.OBSERVATION, new IdLong(1L));
+            Assert.assertNotSame(observation, service.observations().find(new IdLong(1L)));
+            Assert.assertEquals(2, server.getRequests().size());
+        }
+    }
+
+    @Test
+    public void testUpdateInvalidatesNavigationLinks() throws Exception {
+        try (StandInServer server = createServer()) {
+            EntityCache cache = new EntityCache(100, 1, TimeUnit.MINUTES);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setEntityCache(cache);
+            server.on("Datastreams(7)", exchange -> {
+                if ("PATCH".equals(exchange.getRequestMethod())) {
+                    server.onJson("Datastreams(7)/Thing", 200, "{\"@iot.id\":10,\"name\":\"other\"}");
+                    StandInServer.respond(exchange, 200, "application/json", new byte[0]);
+                    return;
+                }
+                StandInServer.respond(exchange, 200, "application/json", "{\"@iot.id\":7,\"name\":\"ds\"}".getBytes(StandardCharsets.UTF_8));
+            });
+            Datastream datastream = service.datastreams().find(new IdLong(7L));
+            Assert.assertEquals(new IdLong(9L), datastream.getThing().getId());
+
+            Thing other = new Thing("other", "Another Thing");
+            other.setId(new IdLong(10L));
+            Datastream change = new Datastream();
+            change.setId(new IdLong(7L));
+            change.setThing(other);
+            service.datastreams().update(change);
+
+            Datastream fresh = service.datastreams().find(new IdLong(7L));
+            Assert.assertNotSame(datastream, fresh);
+            Assert.assertEquals(new IdLong(10L), fresh.getThing().getId());
+        }
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        try (StandInServer server = createServer()) {
+            EntityCache cache = new EntityCache(2, 50, TimeUnit.MILLISECONDS);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setEntityCache(cache);
+            service.observations().find(new IdLong(1L));
+            service.observations().find(new IdLong(2L));
+            service.observations().find(new IdLong(3L));
+            Assert.assertEquals(2, cache.size());
+            Assert.assertNull(cache.get(EntityType.OBSERVATION, new IdLong(1L)));
+            Assert.assertNotNull(cache.get(EntityType.OBSERVATION, new IdLong(3L)));
+            Thread.sleep(100);
+            Assert.assertNull(cache.get(EntityType.OBSERVATION, new IdLong(3L)));
+        }
+    }
+
+    @Test
+    public void testFindDuringUpdateIsInvalidated() throws Exception {
+        try (StandInServer server = new StandInServer()) {
+            EntityCache cache = new EntityCache(100, 1, TimeUnit.MINUTES);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setEntityCache(cache);
+            server.on("Things(9)", exchange -> {
+                if ("PATCH".equals(exchange.getRequestMethod())) {
+                    // A find from another thread, while the server applies the change.
+                    try {
+                        service.things().find(new IdLong(9L));
+                    } catch (ServiceFailureException ex) {
+                        throw new IOException(ex);
+                    }
+                    StandInServer.respond(exchange, 200, "application/json", new byte[0]);
+                    return;
+                }
+                StandInServer.respond(exchange, 200, "application/json", "{\"@iot.id\":9,\"name\":\"thing\"}".getBytes(StandardCharsets.UTF_8));
+            });
+            Thing thing = service.things().find(new IdLong(9L));
+            thing.setName("changed");
+            service.things().update(thing);
+            Assert.assertNull(cache.get(EntityType.THING, new IdLong(9L)));
+
+            service.things().find(new IdLong(9L));
+            service.things().updateAsync(thing).get();
+            Assert.assertNull(cache.get(EntityType.THING, new IdLong(9L)));
+        }
+    }
+
+    @Test
+    public void testBatchInvalidates() throws Exception {
+        try (StandInServer server = createServer()) {
+            EntityCache cache = new EntityCache(100, 1, TimeUnit.MINUTES);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setEntityCache(cache);
+            server.onJson("$batch", 200, "{\"responses\":[{\"id\":\"0\",\"status\":200},{\"id\":\"1\",\"status\":200}]}");
+            Thing thing = service.things().find(new IdLong(9L));
+            Observation observation = service.observations().find(new IdLong(1L));
+            Observation other = service.observations().find(new IdLong(2L));
+            service.batch().update(thing).delete(observation).execute();
+            Assert.assertNull(cache.get(EntityType.THING, new IdLong(9L)));
+            Assert.assertNull(cache.get(EntityType.OBSERVATION, new IdLong(1L)));
+            Assert.assertSame(other, cache.get(EntityType.OBSERVATION, new IdLong(2L)));
+        }
+    }
+}
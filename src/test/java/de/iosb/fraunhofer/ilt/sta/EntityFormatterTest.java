@@ -37,6 +37,8 @@ import de.fraunhofer.iosb.ilt.sta.model.Thing;
 import de.fraunhofer.iosb.ilt.sta.model.builder.TaskingCapabilityBuilder;
 import de.fraunhofer.iosb.ilt.sta.model.builder.ext.CategoryBuilder;
 import de.fraunhofer.iosb.ilt.sta.model.builder.ext.TextBuilder;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayValue;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericDataArrayValue;
 import de.fraunhofer.iosb.ilt.sta.model.ext.UnitOfMeasurement;
 import de.fraunhofer.iosb.ilt.sta.service.MqttConfig;
 import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
@@ -47,6 +49,7 @@ import java.net.URI;
 import java.net.URL;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -445,6 +448,72 @@ public class EntityFormatterTest {
         assert (jsonEqual(expResult, json2));
     }
 
+    @Test
+    public void writeNumericDataArrayValue() throws IOException {
+        Datastream datastream = new Datastream();
+        datastream.setId(new IdLong(5L));
+        DataArrayValue expected = new DataArrayValue(datastream, EnumSet.of(DataArrayValue.Property.PhenomenonTime, DataArrayValue.Property.Result));
+        NumericDataArrayValue numeric = new NumericDataArrayValue(datastream, false, 1);
+        for (int i = 0; i < 3; i++) {
+            Observation o = new Observation(20.5 + i, datastream);
+            o.setPhenomenonTimeFrom(ZonedDateTime.parse("2014-12-31T11:59:5" + i + "Z"));
+            expected.addObservation(o);
+            numeric.addObservation(o);
+        }
+        Assert.assertEquals(3, numeric.size());
+        Assert.assertTrue(numeric.getObservations().isEmpty());
+
+        final ObjectMapper mapper = ObjectMapperFactory.get();
+        String expResult = mapper.writeValueAsString(expected);
+        String json = mapper.writeValueAsString(numeric);
+        assert (jsonEqual(expResult, json));
+    }
+
+    @Test
+    public void numericDataArrayValueRejectsNonFinite() {
+        Datastream datastream = new Datastream();
+        datastream.setId(new IdLong(5L));
+        NumericDataArrayValue numeric = new NumericDataArrayValue(datastream, false, 1);
+        for (double result : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            try {
+                numeric.add(0L, result);
+                Assert.fail("Expected an IllegalArgumentException for " + result);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+        }
+        Observation nan = new Observation(Double.NaN, datastream);
+        nan.setPhenomenonTimeFrom(ZonedDateTime.parse("2014-12-31T11:59:50Z"));
+        try {
+            numeric.addObservation(nan);
+            Assert.fail("Expected an IllegalArgumentException.");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        Assert.assertEquals(0, numeric.size());
+    }
+
+    @Test
+    public void numericDataArrayValueRejectsFractionalIntegers() {
+        Datastream datastream = new Datastream();
+        datastream.setId(new IdLong(5L));
+        NumericDataArrayValue numeric = new NumericDataArrayValue(datastream, true, 1);
+        Observation whole = new Observation(new BigDecimal("3.0"), datastream);
+        whole.setPhenomenonTimeFrom(ZonedDateTime.parse("2014-12-31T11:59:50Z"));
+        numeric.addObservation(whole);
+        Assert.assertEquals(3L, numeric.getLongResult(0));
+
+        Observation fraction = new Observation(2.7, datastream);
+        fraction.setPhenomenonTimeFrom(ZonedDateTime.parse("2014-12-31T11:59:51Z"));
+        try {
+            numeric.addObservation(fraction);
+            Assert.fail("Expected an IllegalArgumentException.");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        Assert.assertEquals(1, numeric.size());
+    }
+
     @Test
     public void writeObservationZero() throws IOException {
         String expResult = "{\n"
@@ -22,6 +22,7 @@
  */
 package de.iosb.fraunhofer.ilt.sta;
 
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
 import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
 import de.fraunhofer.iosb.ilt.sta.model.Datastream;
 import de.fraunhofer.iosb.ilt.sta.model.EntityType;
@@ -49,6 +50,10 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.PropertyName;
+import tools.jackson.databind.ValueDeserializer;
+import tools.jackson.databind.deser.SettableBeanProperty;
+import tools.jackson.databind.deser.bean.BeanDeserializerBase;
 
 /**
  *
@@ -91,6 +96,26 @@ public class EntityReaderTest {
         Assert.assertEquals(expected, observation);
     }
 
+    @Test
+    public void readEntityUsesGeneratedSetters() throws IOException, ServiceFailureException {
+        final ObjectMapper mapper = ObjectMapperFactory.get();
+        ValueDeserializer<Object> deserializer = mapper._deserializationContext()
+                .findRootValueDeserializer(mapper.constructType(Observation.class));
+        Assert.assertTrue(deserializer instanceof BeanDeserializerBase);
+        BeanDeserializerBase beanDeserializer = (BeanDeserializerBase) deserializer;
+        for (String name : new String[]{"result", "resultTime", "phenomenonTime", "Datastream"}) {
+            SettableBeanProperty property = beanDeserializer.findProperty(PropertyName.construct(name));
+            Assert.assertNotNull(name, property);
+            Assert.assertEquals(name, "GeneratedSetterProperty", property.getClass().getSimpleName());
+        }
+
+        String json = "{\"result\": 1, \"parameters\": {\"a\": \"b\"}, \"Datastream\": {\"@iot.id\": 5}}";
+        Observation observation = mapper.readValue(json, Observation.class);
+        Assert.assertEquals(1, ((Number) observation.getResult()).intValue());
+        Assert.assertEquals("b", observation.getParameters().get("a"));
+        Assert.assertEquals(new IdLong(5L), observation.getDatastream().getId());
+    }
+
     @Test
     public void readEntityList() throws IOException {
         String json = "{\n"
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.model.IsoTimeParser;
+import de.fraunhofer.iosb.ilt.sta.model.TimeObject;
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import org.junit.Assert;
+import org.junit.Test;
+import org.threeten.extra.Interval;
+
+/**
+ * Tests that the IsoTimeParser gives the same results as the java.time
+ * parsers.
+ *
+ * @author scf
+ */
+public class IsoTimeParserTest {
+
+    private static final String[] DATE_TIMES = {
+        "2014-12-31T11:59:59Z",
+        "2014-12-31T11:59Z",
+        "2014-12-31T11:59:59.1Z",
+        "2014-12-31T11:59:59.123456789Z",
+        "2014-12-31T11:59:59.120+01:00",
+        "2014-12-31T23:59:59-05:30",
+        "2016-02-29T00:00:00-00:00",
+        "2014-12-31T11:59:59+18:00",
+        "2014-12-31t11:59:59z",
+        "2014-12-31T11:59:59+01:00[Europe/Berlin]"
+    };
+
+    private static final String[] INTERVALS = {
+        "2014-12-31T11:59:59Z/2014-12-31T12:01:01Z",
+        "2014-12-31T11:59:59.5+01:00/2014-12-31T12:01:01-01:00",
+        "2014-12-31T11:59:59Z/PT1H",
+        "2014-12-31T11:59:59Z/2014-12-31T11:59:59Z"
+    };
+
+    private static final String[] INVALID = {
+        "",
+        "2014-12-31",
+        "2014-13-31T11:59:59Z",
+        "2015-02-29T11:59:59Z",
+        "2014-12-31T24:00:00Z",
+        "2014-12-31T11:59:59",
+        "2014-12-31T11:59:59Z/2014-12-31T11:00:00Z"
+    };
+
+    @Test
+    public void testDateTimes() {
+        for (String value : DATE_TIMES) {
+            ZonedDateTime expected = ZonedDateTime.parse(value);
+            Assert.assertEquals(value, expected, IsoTimeParser.parseDateTime(value));
+            Assert.assertEquals(value, new TimeObject(expected), TimeObject.parse(value));
+        }
+    }
+
+    @Test
+    public void testIntervals() {
+        for (String value : INTERVALS) {
+            Interval expected = Interval.parse(value);
+            Assert.assertEquals(value, expected, IsoTimeParser.parseInterval(value));
+            Assert.assertEquals(value, new TimeObject(expected), TimeObject.parse(value));
+        }
+    }
+
+    @Test
+    public void testInvalid() {
+        for (String value : INVALID) {
+            try {
+                TimeObject.parse(value);
+                Assert.fail("Expected an exception for " + value);
+            } catch (DateTimeException ex) {
+                // Expected.
+            }
+        }
+    }
+
+}
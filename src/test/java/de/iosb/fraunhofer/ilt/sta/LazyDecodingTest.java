@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.ext.LazyValue;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+/**
+ * Tests for lazily decoding the result, resultQuality and parameters of
+ * Observations.
+ *
+ * @author scf
+ */
+public class LazyDecodingTest {
+
+    private static final String OBSERVATION = "{\"@iot.id\":1,"
+            + "\"phenomenonTime\":\"2024-01-01T00:00:00Z\","
+            + "\"result\":{\"values\":[1,2.50,\"x\"],\"ok\":true},"
+            + "\"resultQuality\":[{\"name\":\"accuracy\",\"value\":0.1}],"
+            + "\"parameters\":{\"depth\":12.75,\"tags\":[\"a\",\"b\"]}}";
+
+    private static Observation readLazy(String json) {
+        return ObjectMapperFactory.get().readerFor(Observation.class)
+                .withAttribute(LazyValue.ATTRIBUTE_LAZY_DECODING, Boolean.TRUE)
+                .readValue(json);
+    }
+
+    @Test
+    public void testDecodedValuesEqualEager() {
+        final ObjectMapper mapper = ObjectMapperFactory.get();
+        Observation eager = mapper.readValue(OBSERVATION, Observation.class);
+        Observation lazy = readLazy(OBSERVATION);
+        Assert.assertEquals(eager.getResult(), lazy.getResult());
+        Assert.assertEquals(eager.getResultQuality(), lazy.getResultQuality());
+        Assert.assertEquals(eager.getParameters(), lazy.getParameters());
+        Assert.assertEquals(eager, lazy);
+        Assert.assertTrue(lazy.isResultSet());
+    }
+
+    @Test
+    public void testRawValuesWrittenUnchanged() {
+        final ObjectMapper mapper = ObjectMapperFactory.get();
+        Observation lazy = readLazy(OBSERVATION);
+        String written = mapper.writeValueAsString(lazy);
+        Assert.assertTrue(written, written.contains("\"result\":{\"values\":[1,2.50,\"x\"],\"ok\":true}"));
+        Assert.assertTrue(written, written.contains("\"parameters\":{\"depth\":12.75,\"tags\":[\"a\",\"b\"]}"));
+        ObjectNode expected = (ObjectNode) mapper.readTree(OBSERVATION);
+        ObjectNode actual = (ObjectNode) mapper.readTree(written);
+        expected.remove("@iot.id");
+        actual.remove("@iot.id");
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testNullResult() {
+        Observation lazy = readLazy("{\"result\":null}");
+        Assert.assertNull(lazy.getResult());
+        Assert.assertTrue(lazy.isResultSet());
+        Assert.assertNull(lazy.getParameters());
+    }
+
+    @Test
+    public void testServiceReadsLazily() throws Exception {
+        try (StandInServer server = new StandInServer()) {
+            server.onJson("Observations(1)", 200, OBSERVATION);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setLazyDecoding(true);
+            Observation observation = service.observations().find(new IdLong(1L));
+            Assert.assertEquals(true, ((Map<?, ?>) observation.getResult()).get("ok"));
+            Assert.assertEquals(2, observation.getParameters().size());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.Location;
+import org.geojson.Feature;
+import org.geojson.GeoJsonObject;
+import org.junit.Assert;
+import org.junit.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Tests that the streaming LocationDeserializer gives the same results as
+ * converting the tree.
+ *
+ * @author scf
+ */
+public class LocationDeserializerTest {
+
+    private static final String[] GEOMETRIES = {
+        "{\"type\":\"Point\",\"coordinates\":[8.8,49.9]}",
+        "{\"type\":\"Point\",\"coordinates\":[8.8,49.9,120.5]}",
+        "{\"type\":\"Point\",\"coordinates\":[8,49,120,7,3]}",
+        "{\"type\":\"MultiPoint\",\"coordinates\":[[8.8,49.9],[8.9,50]]}",
+        "{\"type\":\"LineString\",\"coordinates\":[[8.8,49.9],[8.9,50,3]]}",
+        "{\"type\":\"LineString\",\"coordinates\":[]}",
+        "{\"type\":\"MultiLineString\",\"coordinates\":[[[8.8,49.9],[8.9,50]],[[1,2],[3,4]]]}",
+        "{\"type\":\"Polygon\",\"coordinates\":[[[0,0],[1,0],[1,1],[0,0]],[[0.2,0.2],[0.5,0.2],[0.2,0.5],[0.2,0.2]]]}",
+        "{\"type\":\"MultiPolygon\",\"coordinates\":[[[[0,0],[1,0],[1,1],[0,0]]],[[[2,2],[3,2],[3,3],[2,2]]]]}",
+        "{\"type\":\"Point\",\"coordinates\":[8.8,49.9],\"bbox\":[8.8,49.9,8.8,49.9]}",
+        "{\"type\":\"Point\",\"coordinates\":[8.8,49.9],\"crs\":{\"type\":\"name\",\"properties\":{\"name\":\"EPSG:4326\"}}}",
+        "{\"coordinates\":[8.8,49.9],\"type\":\"Point\"}",
+        "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[8.8,49.9]},\"properties\":{\"a\":1}}"
+    };
+
+    private static final String[] NOT_GEOJSON = {
+        "{\"type\":\"Point\",\"coordinates\":[[8.8,49.9]]}",
+        "{\"type\":\"Point\",\"coordinates\":[8.8]}",
+        "{\"type\":\"Polygon\",\"coordinates\":[8.8,49.9]}",
+        "{\"type\":\"LineString\",\"coordinates\":[[1,2],\"x\"]}",
+        "{\"type\":\"Polygon\",\"coordinates\":[1.0,4294967296,2.50]}",
+        "{\"type\":\"LineString\",\"coordinates\":[[1.0,2],[4294967296,7],\"x\"]}",
+        "{\"type\":\"Unknown\",\"coordinates\":[8.8,49.9]}",
+        "{\"name\":\"not a geometry\"}",
+        "{}"
+    };
+
+    @Test
+    public void testGeometriesMatchTreeConversion() {
+        final ObjectMapper mapper = ObjectMapperFactory.get();
+        for (String geometry : GEOMETRIES) {
+            Object expected = mapper.readValue(geometry, GeoJsonObject.class);
+            Object parsed = readLocation(mapper, geometry);
+            Assert.assertEquals("Failed for " + geometry, expected, parsed);
+        }
+        Assert.assertTrue(readLocation(mapper, GEOMETRIES[GEOMETRIES.length - 1]) instanceof Feature);
+    }
+
+    @Test
+    public void testNonGeoJsonReturnsTree() {
+        final ObjectMapper mapper = ObjectMapperFactory.get();
+        for (String value : NOT_GEOJSON) {
+            Object parsed = readLocation(mapper, value);
+            Assert.assertTrue("Expected a tree for " + value, parsed instanceof JsonNode);
+            Assert.assertEquals("Failed for " + value, mapper.readTree(value), parsed);
+        }
+    }
+
+    @Test
+    public void testScalars() {
+        final ObjectMapper mapper = ObjectMapperFactory.get();
+        Assert.assertEquals("somewhere", readLocation(mapper, "\"somewhere\""));
+        Assert.assertEquals(5, readLocation(mapper, "5"));
+        Assert.assertEquals(Boolean.TRUE, readLocation(mapper, "true"));
+        Assert.assertNull(readLocation(mapper, "null"));
+    }
+
+    private static Object readLocation(ObjectMapper mapper, String location) {
+        String json = "{\"name\":\"l\",\"encodingType\":\"application/vnd.geo+json\",\"location\":" + location + ",\"description\":\"d\"}";
+        return mapper.readValue(json, Location.class).getLocation();
+    }
+}
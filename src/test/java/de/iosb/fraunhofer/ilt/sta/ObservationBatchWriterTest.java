@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.dao.ObservationBatchWriter;
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.TimeObject;
+import de.fraunhofer.iosb.ilt.sta.model.ext.DataArrayValue;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tests for the ObservationBatchWriter.
+ *
+ * @author scf
+ */
+public class ObservationBatchWriterTest {
+
+    private StandInServer server;
+    private SensorThingsService service;
+    private final List<JsonNode> batches = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInServer();
+        service = new SensorThingsService(server.getServiceUrl());
+        final AtomicLong nextId = new AtomicLong(1);
+        server.on("CreateObservations", exchange -> {
+            JsonNode body = JsonMapper.builder().build().readTree(exchange.getRequestBody());
+            batches.add(body);
+            List<String> locations = new ArrayList<>();
+            for (JsonNode dav : body) {
+                for (JsonNode row : dav.get("dataArray")) {
+                    if (row.get(row.size() - 1).asInt() < 0) {
+                        locations.add("\"error: negative\"");
+                    } else {
+                        locations.add("\"" + server.getBaseUrl() + "Observations(" + nextId.getAndIncrement() + ")\"");
+                    }
+                }
+            }
+            byte[] response = ("[" + String.join(",", locations) + "]").getBytes(StandardCharsets.UTF_8);
+            StandInServer.respond(exchange, 201, "application/json", response);
+        });
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    private static Datastream datastream(long id) {
+        Datastream ds = new Datastream();
+        ds.setId(new IdLong(id));
+        return ds;
+    }
+
+    @Test
+    public void testBatching() throws InterruptedException {
+        final List<Observation> failed = new CopyOnWriteArrayList<>();
+        final Datastream ds1 = datastream(1);
+        final Datastream ds2 = datastream(2);
+        try (ObservationBatchWriter writer = new ObservationBatchWriter(
+                service,
+                EnumSet.of(DataArrayValue.Property.PhenomenonTime, DataArrayValue.Property.Result),
+                5, 60_000, 100)) {
+            writer.setFailureListener((observations, failure) -> failed.addAll(observations));
+            for (int i = 0; i < 12; i++) {
+                writer.add(new Observation(i == 3 ? -1 : i, i % 2 == 0 ? ds1 : ds2));
+            }
+            writer.flush();
+            Assert.assertEquals(3, batches.size());
+            Assert.assertEquals(2, batches.get(0).size());
+            Assert.assertEquals(2, batches.get(2).size());
+            Assert.assertEquals(11, writer.getCreatedCount());
+            Assert.assertEquals(1, writer.getFailedCount());
+            Assert.assertEquals(-1, failed.get(0).getResult());
+        }
+    }
+
+    @Test
+    public void testDelay() throws InterruptedException {
+        try (ObservationBatchWriter writer = new ObservationBatchWriter(
+                service,
+                EnumSet.of(DataArrayValue.Property.Result),
+                1000, 50, 100)) {
+            writer.add(new Observation(1, datastream(1)));
+            for (int i = 0; i < 250 && writer.getCreatedCount() == 0; i++) {
+                Thread.sleep(20);
+            }
+            Assert.assertEquals(1, writer.getCreatedCount());
+            Assert.assertEquals(1, batches.size());
+        }
+    }
+
+    @Test
+    public void testBrokenObservationIsReported() throws InterruptedException {
+        final List<Observation> failed = new CopyOnWriteArrayList<>();
+        final Observation broken = new Observation(2, datastream(1)) {
+            @Override
+            public TimeObject getPhenomenonTime() {
+                throw new IllegalStateException("broken");
+            }
+        };
+        try (ObservationBatchWriter writer = new ObservationBatchWriter(
+                service,
+                EnumSet.of(DataArrayValue.Property.PhenomenonTime, DataArrayValue.Property.Result),
+                10, 60_000, 100)) {
+            writer.setFailureListener((observations, failure) -> failed.addAll(observations));
+            writer.add(new Observation(1, datastream(1)));
+            writer.add(broken);
+            writer.add(new Observation(3, datastream(1)));
+            writer.flush();
+            Assert.assertEquals(2, writer.getCreatedCount());
+            Assert.assertEquals(1, writer.getFailedCount());
+            Assert.assertSame(broken, failed.get(0));
+        }
+    }
+
+    @Test
+    public void testCloseWhileAdding() throws Exception {
+        final AtomicLong accepted = new AtomicLong();
+        final ObservationBatchWriter writer = new ObservationBatchWriter(
+                service,
+                EnumSet.of(DataArrayValue.Property.Result),
+                7, 60_000, 3);
+        final List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            producers.add(Thread.ofPlatform().daemon().start(() -> {
+                try {
+                    for (int i = 0; i < 10_000; i++) {
+                        writer.add(new Observation(i, datastream(1)));
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException ex) {
+                    // Closed.
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        Thread.sleep(50);
+        writer.close();
+        for (Thread producer : producers) {
+            producer.join(10_000);
+            Assert.assertFalse(producer.isAlive());
+        }
+        Assert.assertEquals(accepted.get(), writer.getCreatedCount() + writer.getFailedCount());
+        Assert.assertEquals(0, writer.getQueueSize());
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import com.sun.net.httpserver.HttpExchange;
+import de.fraunhofer.iosb.ilt.sta.StatusCodeException;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.query.PartitionedQuery;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for time-partitioned queries.
+ *
+ * @author scf
+ */
+public class PartitionedQueryTest {
+
+    private static final Instant START = Instant.parse("2020-01-01T00:00:00Z");
+    private static final int HOURS = 24;
+    private static final int PAGE_SIZE = 4;
+    private static final Pattern WINDOW = Pattern.compile("phenomenonTime ge ([^\\s&]+) and phenomenonTime lt ([^\\s&]+)");
+    private static final Pattern SKIP = Pattern.compile("\\$skip=(\\d+)");
+
+    private static String decodedQuery(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        return query == null ? "" : URLDecoder.decode(query, StandardCharsets.UTF_8);
+    }
+
+    private static StandInServer createServer() throws Exception {
+        return createServer(null);
+    }
+
+    /**
+     * Serves one Observation per hour of the first day of 2020, with the hour
+     * as id, in pages of PAGE_SIZE, for the time window in the filter. If
+     * failFrom is set, following the nextLink of the window that starts at
+     * failFrom fails.
+     */
+    private static StandInServer createServer(Instant failFrom) throws Exception {
+        StandInServer server = new StandInServer();
+        server.on("Observations", exchange -> {
+            String query = decodedQuery(exchange);
+            Matcher window = WINDOW.matcher(query);
+            Assert.assertTrue("No time window in " + query, window.find());
+            Instant from = Instant.parse(window.group(1));
+            Instant to = Instant.parse(window.group(2));
+            List<Integer> hours = new ArrayList<>();
+            for (int hour = 0; hour < HOURS; hour++) {
+                Instant time = START.plus(hour, ChronoUnit.HOURS);
+                if (!time.isBefore(from) && time.isBefore(to)) {
+                    hours.add(hour);
+                }
+            }
+            if (query.contains("phenomenonTime desc")) {
+                hours.sort((a, b) -> b - a);
+            }
+            Matcher skipMatcher = SKIP.matcher(query);
+            int skip = skipMatcher.find() ? Integer.parseInt(skipMatcher.group(1)) : 0;
+            if (skip > 0 && from.equals(failFrom)) {
+                StandInServer.respond(exchange, 500, "text/plain", "Broken".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            StringBuilder json = new StringBuilder("{");
+            if (skip + PAGE_SIZE < hours.size()) {
+                String rawQuery = exchange.getRequestURI().getRawQuery().replaceAll("&%24skip=\\d+", "");
+                json.append("\"@iot.nextLink\":\"").append(server.getBaseUrl()).append("Observations?")
+                        .append(rawQuery).append("&%24skip=").append(skip + PAGE_SIZE).append("\",");
+            }
+            json.append("\"value\":[");
+            for (int i = skip; i < Math.min(skip + PAGE_SIZE, hours.size()); i++) {
+                int hour = hours.get(i);
+                json.append(i == skip ? "" : ",")
+                        .append("{\"@iot.id\":").append(hour)
+                        .append(",\"phenomenonTime\":\"").append(START.plus(hour, ChronoUnit.HOURS)).append("\",\"result\":").append(hour).append('}');
+            }
+            json.append("]}");
+            StandInServer.respond(exchange, 200, "application/json", json.toString().getBytes(StandardCharsets.UTF_8));
+        });
+        return server;
+    }
+
+    private static List<Long> ids(Stream<Observation> stream) {
+        try (stream) {
+            return stream.map(o -> (Long) o.getId().getValue()).collect(Collectors.toList());
+        }
+    }
+
+    private static List<Long> range(long from, long to, long step) {
+        List<Long> result = new ArrayList<>();
+        for (long i = from; step > 0 ? i < to : i > to; i += step) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    @Test
+    public void testOrderedStream() throws Exception {
+        try (StandInServer server = createServer()) {
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl());
+            PartitionedQuery<Observation> query = service.observations().query()
+                    .orderBy("phenomenonTime")
+                    .partitionByTime("phenomenonTime", START, START.plus(HOURS, ChronoUnit.HOURS), 4)
+                    .parallel(4);
+            Assert.assertEquals(4, query.getPartitions().size());
+            Assert.assertEquals(range(0, HOURS, 1), ids(query.orderedStream()));
+            // 4 partitions of 6 Observations, in 2 pages each.
+            Assert.assertEquals(8, server.getRequests().size());
+        }
+    }
+
+    @Test
+    public void testDescendingList() throws Exception {
+        try (StandInServer server = createServer()) {
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl());
+            List<Observation> list = service.observations().query()
+                    .orderBy("phenomenonTime desc")
+                    .partitionByTime("phenomenonTime", START, START.plus(HOURS, ChronoUnit.HOURS), 5)
+                    .parallel(2)
+                    .list();
+            Assert.assertEquals(range(HOURS - 1, -1, -1), ids(list.stream()));
+        }
+    }
+
+    @Test
+    public void testUnorderedStreamKeepsFilter() throws Exception {
+        try (StandInServer server = createServer()) {
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl());
+            PartitionedQuery<Observation> query = service.observations().query()
+                    .filter("result ge 0")
+                    .partitionByTime("phenomenonTime", START, START.plus(HOURS, ChronoUnit.HOURS), 3)
+                    .parallel(3);
+            Set<Long> ids = new HashSet<>(ids(query.stream()));
+            Assert.assertEquals(new HashSet<>(range(0, HOURS, 1)), ids);
+            for (HttpExchange exchange : server.getRequests()) {
+                Assert.assertTrue(decodedQuery(exchange).contains("(result ge 0) and phenomenonTime ge "));
+            }
+        }
+    }
+
+    @Test
+    public void testFailedNextLinkFailsPartition() throws Exception {
+        try (StandInServer server = createServer(START.plus(6, ChronoUnit.HOURS))) {
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl());
+            PartitionedQuery<Observation> query = service.observations().query()
+                    .partitionByTime("phenomenonTime", START, START.plus(HOURS, ChronoUnit.HOURS), 4)
+                    .parallel(2);
+            try {
+                query.list();
+                Assert.fail("Expected the partition to fail.");
+            } catch (StatusCodeException ex) {
+                Assert.assertEquals(500, ex.getStatusCode());
+            }
+            try (Stream<Observation> stream = query.stream()) {
+                stream.count();
+                Assert.fail("Expected the partition to fail.");
+            } catch (IllegalStateException ex) {
+                Assert.assertTrue(ex.getCause() instanceof StatusCodeException);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.StatusCodeException;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.model.ext.PrefetchingIterator;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for following nextLinks with the PrefetchingIterator.
+ *
+ * @author scf
+ */
+public class PrefetchingIteratorTest {
+
+    private StandInServer server;
+    private SensorThingsService service;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StandInServer();
+        service = new SensorThingsService(server.getServiceUrl());
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    private String page(long firstId, String nextPath) {
+        StringBuilder json = new StringBuilder("{");
+        if (nextPath != null) {
+            json.append("\"@iot.nextLink\":\"").append(server.getBaseUrl()).append(nextPath).append("\",");
+        }
+        json.append("\"value\":[")
+                .append("{\"@iot.id\":").append(firstId).append(",\"name\":\"t").append(firstId).append("\"},")
+                .append("{\"@iot.id\":").append(firstId + 1).append(",\"name\":\"t").append(firstId + 1).append("\"}")
+                .append("]}");
+        return json.toString();
+    }
+
+    private static List<Object> collectIds(PrefetchingIterator<Thing> it) {
+        List<Object> ids = new ArrayList<>();
+        while (it.hasNext()) {
+            ids.add(it.next().getId().getValue());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testAllPages() throws ServiceFailureException {
+        server.onJson("Things", 200, page(1, "Things?page=2"))
+                .onJson("Things?page=2", 200, page(3, "Things?page=3"))
+                .onJson("Things?page=3", 200, page(5, null));
+
+        EntityList<Thing> things = service.things().query().list();
+        try (PrefetchingIterator<Thing> it = things.fullIterator(1)) {
+            Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L), collectIds(it));
+            Assert.assertNull(it.getFailure());
+        }
+        Assert.assertEquals(3, server.getRequests().size());
+    }
+
+    @Test
+    public void testFailingPage() throws ServiceFailureException {
+        server.onJson("Things", 200, page(1, "Things?page=2"))
+                .onJson("Things?page=2", 200, page(3, "Things?page=3"))
+                .onJson("Things?page=3", 500, "{\"message\":\"Broken\"}");
+
+        EntityList<Thing> things = service.things().query().list();
+        try (PrefetchingIterator<Thing> it = things.fullIterator(4)) {
+            Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L), collectIds(it));
+            Assert.assertTrue(it.getFailure() instanceof StatusCodeException);
+            Assert.assertEquals(500, ((StatusCodeException) it.getFailure()).getStatusCode());
+        }
+    }
+
+    @Test
+    public void testSinglePage() throws ServiceFailureException {
+        server.onJson("Things", 200, page(1, null));
+
+        EntityList<Thing> things = service.things().query().list();
+        try (PrefetchingIterator<Thing> it = things.fullIterator(2)) {
+            Assert.assertEquals(Arrays.asList(1L, 2L), collectIds(it));
+            Assert.assertFalse(it.hasNext());
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import com.sun.net.httpserver.HttpExchange;
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.EntityType;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.service.EntityCache;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for prefetching related entities of an EntityList.
+ *
+ * @author scf
+ */
+public class RelationPrefetchTest {
+
+    private static final Pattern ID_EQ = Pattern.compile("id eq (\\d+)");
+
+    private static String decodedQuery(HttpExchange exchange) {
+        String query = exchange.getRequestURI().getRawQuery();
+        return query == null ? null : URLDecoder.decode(query, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Serves 5 Observations without Datastream, and the Datastreams of
+     * Observations when they are requested by id with the Datastream
+     * expanded. Odd Observations belong to Datastream 1, even ones to 2.
+     */
+    private static StandInServer createServer() throws Exception {
+        StandInServer server = new StandInServer();
+        server.on("Observations", exchange -> {
+            String query = decodedQuery(exchange);
+            StringBuilder json = new StringBuilder("{\"value\":[");
+            if (query != null && query.contains("$expand=Datastream")) {
+                Matcher matcher = ID_EQ.matcher(query);
+                boolean first = true;
+                while (matcher.find()) {
+                    long id = Long.parseLong(matcher.group(1));
+                    json.append(first ? "" : ",")
+                            .append("{\"@iot.id\":").append(id)
+                            .append(",\"Datastream\":{\"@iot.id\":").append(2 - id % 2).append(",\"name\":\"ds\"}}");
+                    first = false;
+                }
+            } else {
+                for (int i = 1; i <= 5; i++) {
+                    json.append(i == 1 ? "" : ",").append("{\"@iot.id\":").append(i).append(",\"result\":").append(i).append('}');
+                }
+            }
+            json.append("]}");
+            StandInServer.respond(exchange, 200, "application/json", json.toString().getBytes(StandardCharsets.UTF_8));
+        });
+        return server;
+    }
+
+    @Test
+    public void testPrefetchInChunks() throws Exception {
+        try (StandInServer server = createServer()) {
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl());
+            EntityList<Observation> list = service.observations().query().list();
+            Assert.assertNull(list.toList().get(0).getRelationIfLoaded(EntityType.DATASTREAM));
+            Assert.assertEquals(1, server.getRequests().size());
+
+            list.prefetch(EntityType.DATASTREAM, 2);
+            // 5 Observations in chunks of 2.
+            Assert.assertEquals(4, server.getRequests().size());
+            Assert.assertTrue(decodedQuery(server.getRequests().get(1)).contains("id eq 1 or id eq 2"));
+
+            Datastream odd = list.toList().get(0).getDatastream();
+            Datastream even = list.toList().get(1).getDatastream();
+            Assert.assertEquals(new IdLong(1L), odd.getId());
+            Assert.assertEquals(new IdLong(2L), even.getId());
+            for (Observation observation : list) {
+                Datastream expected = ((Long) observation.getId().getValue()) % 2 == 1 ? odd : even;
+                Assert.assertSame(expected, observation.getDatastream());
+            }
+            Assert.assertEquals(4, server.getRequests().size());
+
+            // Nothing is missing anymore.
+            list.prefetch(EntityType.DATASTREAM);
+            Assert.assertEquals(4, server.getRequests().size());
+        }
+    }
+
+    @Test
+    public void testPrefetchUsesEntityCache() throws Exception {
+        try (StandInServer server = createServer()) {
+            EntityCache cache = new EntityCache(100, 1, TimeUnit.MINUTES);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setEntityCache(cache);
+            service.observations().query().list().prefetch(EntityType.DATASTREAM);
+            Assert.assertEquals(2, server.getRequests().size());
+
+            EntityList<Observation> again = service.observations().query().list().prefetch(EntityType.DATASTREAM);
+            Assert.assertEquals(3, server.getRequests().size());
+            Assert.assertSame(cache.get(EntityType.DATASTREAM, new IdLong(1L)), again.toList().get(0).getDatastream());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrefetchRejectsUnknownRelation() throws Exception {
+        try (StandInServer server = createServer()) {
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl());
+            service.observations().query().list().prefetch(EntityType.THING);
+        }
+    }
+}
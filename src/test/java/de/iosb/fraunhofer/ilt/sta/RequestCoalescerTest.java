@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.service.RequestCoalescer;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpRequestInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for coalescing concurrent identical GET requests.
+ *
+ * @author scf
+ */
+public class RequestCoalescerTest {
+
+    private static final int THREADS = 5;
+
+    /**
+     * Creates a server that answers for Observation 1, and Observation 2 with
+     * 404, after the given latch is released.
+     */
+    private static StandInServer createServer(CountDownLatch release) throws Exception {
+        StandInServer server = new StandInServer();
+        server.on("Observations(1)", exchange -> {
+            awaitQuietly(release);
+            StandInServer.respond(exchange, 200, "application/json", "{\"@iot.id\":1,\"result\":42}".getBytes(StandardCharsets.UTF_8));
+        });
+        server.on("Observations(2)", exchange -> {
+            awaitQuietly(release);
+            StandInServer.respond(exchange, 404, "text/plain", "Nothing found.".getBytes(StandardCharsets.UTF_8));
+        });
+        return server;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitForCoalesced(RequestCoalescer coalescer, long expected) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000;
+        while (coalescer.getCoalescedCount() < expected && System.currentTimeMillis() < end) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void testConcurrentFindsShareOneRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try (StandInServer server = createServer(release)) {
+            RequestCoalescer coalescer = new RequestCoalescer();
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setRequestCoalescer(coalescer);
+            List<Future<Observation>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> service.observations().find(new IdLong(1L))));
+            }
+            waitForCoalesced(coalescer, THREADS - 1);
+            release.countDown();
+
+            List<Observation> results = new ArrayList<>();
+            for (Future<Observation> future : futures) {
+                Observation observation = future.get(10, TimeUnit.SECONDS);
+                Assert.assertEquals(42, ((Number) observation.getResult()).intValue());
+                for (Observation other : results) {
+                    Assert.assertNotSame(other, observation);
+                }
+                results.add(observation);
+            }
+            Assert.assertEquals(1, server.getRequests().size());
+            Assert.assertEquals(1, coalescer.getSentCount());
+            Assert.assertEquals(THREADS - 1, coalescer.getCoalescedCount());
+            Assert.assertEquals(0, coalescer.getInFlightCount());
+
+            // Requests that are not concurrent are sent again.
+            service.observations().find(new IdLong(1L));
+            Assert.assertEquals(2, server.getRequests().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testErrorsAreShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try (StandInServer server = createServer(release)) {
+            RequestCoalescer coalescer = new RequestCoalescer();
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setRequestCoalescer(coalescer);
+            List<Future<Observation>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> service.observations().find(new IdLong(2L))));
+            }
+            waitForCoalesced(coalescer, THREADS - 1);
+            release.countDown();
+
+            for (Future<Observation> future : futures) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                    Assert.fail("Expected a failure.");
+                } catch (ExecutionException ex) {
+                    Assert.assertTrue(ex.getCause() instanceof ServiceFailureException);
+                }
+            }
+            Assert.assertEquals(1, server.getRequests().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testErrorInOwnerReleasesWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try (StandInServer server = createServer(release)) {
+            RequestCoalescer coalescer = new RequestCoalescer();
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setRequestCoalescer(coalescer);
+            service.getClientBuilder().addInterceptorFirst((HttpRequestInterceptor) (request, context) -> {
+                awaitQuietly(release);
+                throw new AssertionError("Failing owner.");
+            });
+            service.rebuildHttpClient();
+            List<Future<Observation>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> service.observations().find(new IdLong(1L))));
+            }
+            waitForCoalesced(coalescer, THREADS - 1);
+            release.countDown();
+
+            int errors = 0;
+            for (Future<Observation> future : futures) {
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                    Assert.fail("Expected a failure.");
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof AssertionError) {
+                        errors++;
+                    }
+                }
+            }
+            Assert.assertEquals(1, errors);
+            Assert.assertEquals(0, coalescer.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
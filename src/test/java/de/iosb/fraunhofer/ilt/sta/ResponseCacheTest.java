@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import com.sun.net.httpserver.HttpExchange;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.service.ResponseCache;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for revalidating cached responses with ETags.
+ *
+ * @author scf
+ */
+public class ResponseCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static StandInServer createServer(AtomicInteger notModified) throws IOException {
+        StandInServer server = new StandInServer();
+        for (int i = 1; i <= 2; i++) {
+            final String etag = "\"v" + i + "\"";
+            final byte[] body = ("{\"@iot.id\":" + i + ",\"name\":\"Thing " + i + "\"}").getBytes(StandardCharsets.UTF_8);
+            server.on("Things(" + i + ")", (HttpExchange exchange) -> {
+                exchange.getResponseHeaders().add("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    notModified.incrementAndGet();
+                    StandInServer.respond(exchange, 304, null, null);
+                } else {
+                    StandInServer.respond(exchange, 200, "application/json", body);
+                }
+            });
+        }
+        return server;
+    }
+
+    @Test
+    public void testRevalidation() throws Exception {
+        AtomicInteger notModified = new AtomicInteger();
+        try (StandInServer server = createServer(notModified)) {
+            ResponseCache cache = new ResponseCache(10, 1_000_000);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setResponseCache(cache);
+            for (int i = 0; i < 3; i++) {
+                Thing thing = service.things().find(new IdLong(1L));
+                Assert.assertEquals("Thing 1", thing.getName());
+            }
+            Assert.assertEquals(3, server.getRequests().size());
+            Assert.assertEquals(2, notModified.get());
+            Assert.assertEquals(2, cache.getHitCount());
+            Assert.assertEquals(1, cache.getMissCount());
+        }
+    }
+
+    @Test
+    public void testDiskTier() throws Exception {
+        AtomicInteger notModified = new AtomicInteger();
+        try (StandInServer server = createServer(notModified)) {
+            ResponseCache cache = new ResponseCache(1, 1_000_000).setDiskTier(folder.getRoot().toPath(), 10);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setResponseCache(cache);
+            service.things().find(new IdLong(1L));
+            service.things().find(new IdLong(2L));
+            Assert.assertEquals(1, cache.getMemoryEntryCount());
+            Assert.assertEquals(1, cache.getDiskEntryCount());
+            Assert.assertEquals("Thing 1", service.things().find(new IdLong(1L)).getName());
+            Assert.assertEquals(1, notModified.get());
+
+            // A new cache picks up the files of the disk tier.
+            ResponseCache restarted = new ResponseCache(1, 1_000_000).setDiskTier(folder.getRoot().toPath(), 10);
+            service.setResponseCache(restarted);
+            Assert.assertEquals(2, restarted.getDiskEntryCount());
+            Assert.assertEquals("Thing 2", service.things().find(new IdLong(2L)).getName());
+            Assert.assertEquals(2, notModified.get());
+            Assert.assertEquals(1, restarted.getHitCount());
+
+            restarted.invalidateAll();
+            Assert.assertEquals(0, restarted.getDiskEntryCount());
+            service.things().find(new IdLong(2L));
+            Assert.assertEquals(2, notModified.get());
+        }
+    }
+
+    @Test
+    public void testUnknownLength() throws Exception {
+        try (StandInServer server = new StandInServer()) {
+            final String longName = "x".repeat(5000);
+            for (String name : new String[]{"short", longName}) {
+                final byte[] body = ("{\"@iot.id\":" + name.length() + ",\"name\":\"" + name + "\"}").getBytes(StandardCharsets.UTF_8);
+                server.on("Things(" + name.length() + ")", (HttpExchange exchange) -> {
+                    exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    // Chunked, without a Content-Length.
+                    exchange.sendResponseHeaders(200, 0);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+            }
+            ResponseCache cache = new ResponseCache(10, 1000);
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl()).setResponseCache(cache);
+            Assert.assertEquals(longName, service.things().find(new IdLong((long) longName.length())).getName());
+            Assert.assertEquals(0, cache.getMemoryEntryCount());
+            Assert.assertEquals("short", service.things().find(new IdLong(5L)).getName());
+            Assert.assertEquals(1, cache.getMemoryEntryCount());
+        }
+    }
+}
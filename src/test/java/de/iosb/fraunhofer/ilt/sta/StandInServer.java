@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A minimal local HTTP server that stands in for a SensorThings service in
+ * tests. Responses are registered per path, optionally including the query.
+ *
+ * @author scf
+ */
+public class StandInServer implements AutoCloseable {
+
+    public static final String VERSION_PATH = "/v1.1/";
+
+    /**
+     * Handles a single request to a registered path.
+     */
+    @FunctionalInterface
+    public static interface Handler {
+
+        public void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private final List<HttpExchange> requests = new CopyOnWriteArrayList<>();
+
+    public StandInServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * The base URL of the stand-in service, including the version.
+     *
+     * @return The base URL of the stand-in service.
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + VERSION_PATH;
+    }
+
+    public URL getServiceUrl() throws MalformedURLException {
+        return new URL(getBaseUrl());
+    }
+
+    /**
+     * Registers a handler for the given path, relative to the base URL. The
+     * path may include a query, in which case it only matches requests with
+     * exactly that query.
+     *
+     * @param path The path, relative to the base URL.
+     * @param handler The handler for requests to the path.
+     * @return this.
+     */
+    public StandInServer on(String path, Handler handler) {
+        handlers.put(VERSION_PATH + path, handler);
+        return this;
+    }
+
+    /**
+     * Registers a fixed JSON response for the given path.
+     *
+     * @param path The path, relative to the base URL.
+     * @param status The status code to respond with.
+     * @param json The body to respond with.
+     * @return this.
+     */
+    public StandInServer onJson(String path, int status, String json) {
+        return on(path, exchange -> respond(exchange, status, "application/json", json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * All requests received so far, in order of arrival.
+     *
+     * @return All requests received so far.
+     */
+    public List<HttpExchange> getRequests() {
+        return requests;
+    }
+
+    public static void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+        }
+        if (body == null || body.length == 0) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.add(exchange);
+        final String path = exchange.getRequestURI().getRawPath();
+        final String query = exchange.getRequestURI().getRawQuery();
+        Handler handler = null;
+        if (query != null) {
+            handler = handlers.get(path + "?" + query);
+        }
+        if (handler == null) {
+            handler = handlers.get(path);
+        }
+        if (handler == null) {
+            respond(exchange, 404, "text/plain", ("No handler for " + path).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        try {
+            handler.handle(exchange);
+        } catch (IOException | RuntimeException exc) {
+            respond(exchange, 500, "text/plain", exc.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+}
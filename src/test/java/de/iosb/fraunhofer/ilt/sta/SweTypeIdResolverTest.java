@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.customtyping.SweTypeIdResolver;
+import de.fraunhofer.iosb.ilt.swe.common.AbstractSWEIdentifiable;
+import de.fraunhofer.iosb.ilt.swe.common.constraint.AbstractConstraint;
+import de.fraunhofer.iosb.ilt.swe.common.simple.SweBoolean;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.reflections.Reflections;
+
+/**
+ * Tests that the static SWE Common type index matches the classpath.
+ *
+ * @author scf
+ */
+public class SweTypeIdResolverTest {
+
+    @Test
+    public void testIndexMatchesClasspath() {
+        final Reflections reflections = new Reflections("de.fraunhofer.iosb.ilt.swe.common");
+        final Map<String, Class<?>> scanned = new HashMap<>();
+        reflections.getSubTypesOf(AbstractSWEIdentifiable.class).forEach(x -> scanned.put(SweTypeIdResolver.idFromClass(x), x));
+        reflections.getSubTypesOf(AbstractConstraint.class).forEach(x -> scanned.put(SweTypeIdResolver.idFromClass(x), x));
+        Assert.assertEquals("The static type index is out of date.", scanned, SweTypeIdResolver.getRegisteredTypes());
+    }
+
+    @Test
+    public void testSweName() {
+        Assert.assertEquals("Boolean", SweTypeIdResolver.idFromClass(SweBoolean.class));
+        Assert.assertEquals(SweBoolean.class, SweTypeIdResolver.getRegisteredTypes().get("Boolean"));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.ServiceFailureException;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Thing;
+import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that responses that break off in the middle of the body fail like
+ * other I/O errors, even though they are parsed while streaming.
+ *
+ * @author scf
+ */
+public class TruncatedResponseTest {
+
+    private static final String FIRST_PAGE = "{\"value\":[{\"@iot.id\":1,\"name\":\"t1\"},{\"@iot.id\":2,\"name\":\"t2\"}],"
+            + "\"@iot.nextLink\":\"%sThings?$skip=2\"}";
+    private static final String TRUNCATED = "{\"value\":[{\"@iot.id\":3,\"name\":\"t3\"},{\"@iot.id\":4,\"na";
+
+    private ServerSocket truncatingServer;
+    private Thread acceptor;
+
+    @Before
+    public void setUp() throws IOException {
+        truncatingServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        acceptor = Thread.ofVirtual().start(this::acceptAll);
+    }
+
+    @After
+    public void tearDown() throws IOException, InterruptedException {
+        truncatingServer.close();
+        acceptor.join(5000);
+    }
+
+    /**
+     * Answers each request with the start of TRUNCATED, and closes the
+     * connection before the announced length is reached.
+     */
+    private void acceptAll() {
+        while (!truncatingServer.isClosed()) {
+            try (Socket socket = truncatingServer.accept()) {
+                final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                String line = in.readLine();
+                while (line != null && !line.isEmpty()) {
+                    line = in.readLine();
+                }
+                final byte[] body = TRUNCATED.getBytes(StandardCharsets.UTF_8);
+                final OutputStream out = socket.getOutputStream();
+                out.write(("HTTP/1.1 200 OK\r\n"
+                        + "Content-Type: application/json\r\n"
+                        + "Content-Length: " + (body.length * 2) + "\r\n"
+                        + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+                out.write(body);
+                out.flush();
+            } catch (IOException ex) {
+                // Server closed.
+            }
+        }
+    }
+
+    private String getTruncatingUrl() {
+        return "http://localhost:" + truncatingServer.getLocalPort() + StandInServer.VERSION_PATH;
+    }
+
+    @Test
+    public void testListTruncated() throws IOException {
+        try (SensorThingsService service = new SensorThingsService(new URL(getTruncatingUrl()))) {
+            service.things().query().list();
+            Assert.fail("Expected a ServiceFailureException.");
+        } catch (ServiceFailureException ex) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testFindTruncated() throws IOException {
+        try (SensorThingsService service = new SensorThingsService(new URL(getTruncatingUrl()))) {
+            service.things().find(new IdLong(1L));
+            Assert.fail("Expected a ServiceFailureException.");
+        } catch (ServiceFailureException ex) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testNextLinkTruncated() throws IOException, ServiceFailureException {
+        try (StandInServer server = new StandInServer();
+                SensorThingsService service = new SensorThingsService(server.getServiceUrl())) {
+            server.onJson("Things", 200, String.format(FIRST_PAGE, getTruncatingUrl()));
+
+            EntityList<Thing> list = service.things().query().list();
+            int count = 0;
+            for (Iterator<Thing> it = list.fullIterator(); it.hasNext();) {
+                it.next();
+                count++;
+            }
+            Assert.assertEquals(2, count);
+
+            list = service.things().query().list();
+            list.fetchNext();
+            Assert.assertEquals(2, list.size());
+        }
+    }
+
+}
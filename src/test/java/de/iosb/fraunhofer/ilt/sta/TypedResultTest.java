@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Fraunhofer Institut IOSB, Fraunhoferstr. 1, D 76131
+ * Karlsruhe, Germany.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.iosb.fraunhofer.ilt.sta;
+
+import de.fraunhofer.iosb.ilt.sta.jackson.ObjectMapperFactory;
+import de.fraunhofer.iosb.ilt.sta.model.Datastream;
+import de.fraunhofer.iosb.ilt.sta.model.IdLong;
+import de.fraunhofer.iosb.ilt.sta.model.Observation;
+import de.fraunhofer.iosb.ilt.sta.model.builder.api.AbstractDatastreamBuilder.ValueCode;
+import de.fraunhofer.iosb.ilt.sta.model.ext.EntityList;
+import de.fraunhofer.iosb.ilt.sta.model.ext.NumericResult;
+import de.fraunhofer.iosb.ilt.sta.service.SensorThingsService;
+import java.math.BigDecimal;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for reading numeric Observation results as primitives.
+ *
+ * @author scf
+ */
+public class TypedResultTest {
+
+    private static Observation read(String json, NumericResult.Type type) {
+        return ObjectMapperFactory.get().readerFor(Observation.class)
+                .withAttribute(NumericResult.ATTRIBUTE_RESULT_TYPE, type)
+                .readValue(json);
+    }
+
+    @Test
+    public void testTypeForObservationType() {
+        Assert.assertEquals(NumericResult.Type.DOUBLE, NumericResult.Type.forObservationType(ValueCode.OM_Measurement.getValue()));
+        Assert.assertEquals(NumericResult.Type.LONG, NumericResult.Type.forObservationType(ValueCode.OM_CountObservation.getValue()));
+        Assert.assertNull(NumericResult.Type.forObservationType(ValueCode.OM_Observation.getValue()));
+        Assert.assertNull(NumericResult.Type.forObservationType(null));
+    }
+
+    @Test
+    public void testDoubleResult() {
+        Observation observation = read("{\"result\":21.5}", NumericResult.Type.DOUBLE);
+        Assert.assertEquals(21.5, observation.getResultAsDouble(), 0);
+        Assert.assertEquals(21L, observation.getResultAsLong());
+        Assert.assertEquals(21.5, observation.getResult());
+        Assert.assertEquals("{\"result\":21.5}", ObjectMapperFactory.get().writeValueAsString(observation));
+    }
+
+    @Test
+    public void testLongResult() {
+        Observation observation = read("{\"result\":42}", NumericResult.Type.LONG);
+        Assert.assertEquals(42L, observation.getResultAsLong());
+        Assert.assertEquals(42.0, observation.getResultAsDouble(), 0);
+        Assert.assertEquals("{\"result\":42}", ObjectMapperFactory.get().writeValueAsString(observation));
+        // Fractional values do not fit a long, they are read as usual.
+        observation = read("{\"result\":4.5}", NumericResult.Type.LONG);
+        Assert.assertEquals(new BigDecimal("4.5"), observation.getResult());
+    }
+
+    @Test
+    public void testNonNumericResults() {
+        Observation observation = read("{\"result\":\"high\",\"parameters\":{\"depth\":1.5}}", NumericResult.Type.DOUBLE);
+        Assert.assertEquals("high", observation.getResult());
+        Assert.assertEquals(new BigDecimal("1.5"), observation.getParameters().get("depth"));
+        try {
+            observation.getResultAsDouble();
+            Assert.fail("Expected an IllegalStateException.");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        Assert.assertEquals(2.5, ObjectMapperFactory.get().readValue("{\"result\":2.5}", Observation.class).getResultAsDouble(), 0);
+    }
+
+    @Test
+    public void testQueryUsesDatastreamObservationType() throws Exception {
+        try (StandInServer server = new StandInServer()) {
+            server.onJson("Datastreams(1)/Observations", 200, "{\"value\":[{\"@iot.id\":1,\"result\":3.25}],"
+                    + "\"@iot.nextLink\":\"" + server.getBaseUrl() + "Datastreams(1)/Observations?$skip=1\"}");
+            server.onJson("Datastreams(1)/Observations?$skip=1", 200, "{\"value\":[{\"@iot.id\":2,\"result\":4}]}");
+            SensorThingsService service = new SensorThingsService(server.getServiceUrl());
+            Datastream datastream = new Datastream();
+            datastream.setId(new IdLong(1L));
+            datastream.setObservationType(ValueCode.OM_Measurement.getValue());
+            datastream.setService(service);
+            EntityList<Observation> list = datastream.observations().query().typedResults().list();
+            Assert.assertEquals(3.25, list.toList().get(0).getResult());
+            list.fetchNext();
+            Assert.assertEquals(4.0, list.toList().get(0).getResult());
+        }
+    }
+}